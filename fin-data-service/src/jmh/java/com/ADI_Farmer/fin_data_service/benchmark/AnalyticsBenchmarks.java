@@ -0,0 +1,115 @@
+package com.ADI_Farmer.fin_data_service.benchmark;
+
+import com.ADI_Farmer.fin_data_service.model.AggregateBucket;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.ADI_Farmer.fin_data_service.service.AnalyticsAccumulator;
+import com.ADI_Farmer.fin_data_service.service.TransactionColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The scans behind the {@code TransactionService} analytics methods over in-memory
+ * datasets: the row-by-row accumulation used for time windows, the columnar store,
+ * and reading back the materialized aggregate buckets used for "all". Each
+ * analytics method is one of these scans plus an O(groups) chart builder; the scans
+ * build every chart and the summary, the builders are measured one by one in
+ * {@link #chart}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class AnalyticsBenchmarks {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int rows;
+
+    private List<Transaction> transactions;
+    private TransactionColumns columns;
+    private List<AggregateBucket> buckets;
+    private AnalyticsAccumulator filled;
+
+    @Setup
+    public void setUp() {
+        transactions = SyntheticTransactions.generate(rows);
+        columns = new TransactionColumns();
+        columns.append(transactions);
+
+        filled = new AnalyticsAccumulator();
+        transactions.forEach(filled::accept);
+        buckets = filled.getBuckets();
+    }
+
+    @Benchmark
+    public Object rowScan() {
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        for (Transaction txn : transactions) {
+            accumulator.accept(txn);
+        }
+        return build(accumulator);
+    }
+
+    @Benchmark
+    public Object columnarScan() {
+        return build(columns.aggregate(null));
+    }
+
+    @Benchmark
+    public Object columnarLastDay() {
+        return build(columns.aggregate(SyntheticTransactions.NOW.minus(Duration.ofDays(1))));
+    }
+
+    @Benchmark
+    public Object aggregateBuckets() {
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        buckets.forEach(accumulator::accept);
+        return build(accumulator);
+    }
+
+    @Benchmark
+    public Object chart(ChartMethod chart) {
+        return chart.build(filled);
+    }
+
+    private static Object build(AnalyticsAccumulator accumulator) {
+        return List.of(accumulator.charts(), accumulator.summary());
+    }
+
+    @State(Scope.Benchmark)
+    public static class ChartMethod {
+
+        @Param({"amountByType", "countByStatus", "fraudAnalysis", "deviceUsage", "summary"})
+        public String method;
+
+        Object build(AnalyticsAccumulator accumulator) {
+            switch (method) {
+                case "countByStatus":
+                    return accumulator.countByStatus();
+                case "fraudAnalysis":
+                    return accumulator.fraudAnalysis();
+                case "deviceUsage":
+                    return accumulator.deviceUsage();
+                case "summary":
+                    return accumulator.summary();
+                case "amountByType":
+                default:
+                    return accumulator.amountByType();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ADI_Farmer.fin_data_service.benchmark;
+
+import com.ADI_Farmer.fin_data_service.ingestion.CsvTransactionSource;
+import com.ADI_Farmer.fin_data_service.ingestion.EventTimes;
+import com.ADI_Farmer.fin_data_service.ingestion.JsonTransactionSource;
+import com.ADI_Farmer.fin_data_service.ingestion.RawRecord;
+import com.ADI_Farmer.fin_data_service.ingestion.TransactionSource;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the ingestion parse stage: mapping a CSV row to a
+ * {@link Transaction}, and reading plus mapping whole CSV and JSON inputs the way
+ * the pipeline does, including the event time parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestionBenchmarks {
+
+    private static final int ROWS = 10_000;
+
+    private RawRecord[] csvRecords;
+    private CsvTransactionSource csvParser;
+    private String csvText;
+    private byte[] jsonArray;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Transaction> transactions = SyntheticTransactions.generate(ROWS);
+
+        csvRecords = new RawRecord[ROWS];
+        StringBuilder csv = new StringBuilder(SyntheticTransactions.CSV_HEADER).append('\n');
+        for (int i = 0; i < ROWS; i++) {
+            String[] row = SyntheticTransactions.csvRow(transactions.get(i));
+            csvRecords[i] = new RawRecord(i + 2, row);
+            csv.append(String.join(",", row)).append('\n');
+        }
+        csvText = csv.toString();
+        csvParser = new CsvTransactionSource("benchmark", new StringReader(""));
+
+        transactions.forEach(txn -> txn.setEventTime(null)); // uploads carry only the raw timestamp
+        jsonArray = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void csvRowMapping(Blackhole blackhole) {
+        for (RawRecord record : csvRecords) {
+            blackhole.consume(csvParser.parse(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void csvReadAndParse(Blackhole blackhole) throws Exception {
+        drain(new CsvTransactionSource("benchmark", new StringReader(csvText)), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void jsonReadAndParse(Blackhole blackhole) throws Exception {
+        drain(new JsonTransactionSource("benchmark", new ByteArrayInputStream(jsonArray)), blackhole);
+    }
+
+    private static void drain(TransactionSource source, Blackhole blackhole) throws Exception {
+        try (source) {
+            RawRecord record;
+            while ((record = source.next()) != null) {
+                Transaction txn = source.parse(record);
+                txn.setEventTime(EventTimes.parse(txn.getTimestamp()));
+                blackhole.consume(txn);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ADI_Farmer.fin_data_service.benchmark;
+
+import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsSnapshot;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.ADI_Farmer.fin_data_service.service.AnalyticsAccumulator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the API payloads, with the ObjectMapper configured the
+ * way Spring MVC builds it: one chart, the full analytics snapshot and pages of
+ * transactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmarks {
+
+    private ObjectMapper objectMapper;
+    private AnalyticsData chart;
+    private AnalyticsSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        SyntheticTransactions.generate(100_000).forEach(accumulator::accept);
+        chart = accumulator.amountByType();
+        snapshot = new AnalyticsSnapshot(accumulator.summary(), accumulator.charts());
+    }
+
+    @Benchmark
+    public byte[] analyticsData() throws Exception {
+        return objectMapper.writeValueAsBytes(chart);
+    }
+
+    @Benchmark
+    public byte[] analyticsSnapshot() throws Exception {
+        return objectMapper.writeValueAsBytes(snapshot);
+    }
+
+    @Benchmark
+    public byte[] transactionPage(Page page) throws Exception {
+        return objectMapper.writeValueAsBytes(page.transactions);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"100", "1000", "10000"})
+        public int pageSize;
+
+        List<Transaction> transactions;
+
+        @Setup
+        public void setUp() {
+            transactions = SyntheticTransactions.generate(pageSize);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ADI_Farmer.fin_data_service.benchmark;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic transactions with the value distribution of sample_transactions.csv,
+ * spread over the 30 days before {@link #NOW}.
+ */
+final class SyntheticTransactions {
+
+    static final Instant NOW = Instant.parse("2024-02-01T00:00:00Z");
+
+    static final String CSV_HEADER = "transactionId,senderAccountId,receiverAccountId,amount,type,timestamp,status,"
+            + "fraudFlag,latitude,longitude,deviceUsed,networkSliceId,latency,bandwidth,pinCode";
+
+    private static final String[] TYPES = {"TRANSFER", "PAYMENT", "DEPOSIT", "WITHDRAWAL"};
+    private static final String[] STATUSES = {"COMPLETED", "COMPLETED", "COMPLETED", "FAILED", "PENDING"};
+    private static final String[] DEVICES = {"Mobile App", "Web Browser", "ATM", "POS"};
+    private static final String[] SLICES = {"NS001", "NS002", "NS003"};
+    private static final long SPAN_SECONDS = 30L * 24 * 3600;
+
+    // Account ids are shared instances rather than one string per row, which keeps the
+    // 10M-row datasets within a few GB of heap
+    private static final String[] ACCOUNTS = new String[50_000];
+
+    static {
+        for (int i = 0; i < ACCOUNTS.length; i++) {
+            ACCOUNTS[i] = "ACC" + i;
+        }
+    }
+
+    private SyntheticTransactions() {
+    }
+
+    static List<Transaction> generate(int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Transaction> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            transactions.add(next(random, i));
+        }
+        return transactions;
+    }
+
+    static String[] csvRow(Transaction txn) {
+        return new String[] {
+                txn.getTransactionId(), txn.getSenderAccountId(), txn.getReceiverAccountId(),
+                String.valueOf(txn.getAmount()), txn.getType(), txn.getTimestamp(), txn.getStatus(),
+                String.valueOf(txn.isFraudFlag()), String.valueOf(txn.getLatitude()),
+                String.valueOf(txn.getLongitude()), txn.getDeviceUsed(), txn.getNetworkSliceId(),
+                String.valueOf(txn.getLatency()), String.valueOf(txn.getBandwidth()), String.valueOf(txn.getPinCode())
+        };
+    }
+
+    private static Transaction next(SplittableRandom random, int i) {
+        Instant eventTime = NOW.minusSeconds(random.nextLong(SPAN_SECONDS));
+
+        Transaction txn = new Transaction();
+        txn.setTransactionId("TXN" + i);
+        txn.setSenderAccountId(ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+        txn.setReceiverAccountId(ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+        txn.setAmount(Math.round(random.nextDouble(1, 5000) * 100) / 100.0);
+        txn.setType(TYPES[random.nextInt(TYPES.length)]);
+        txn.setTimestamp(eventTime.toString().substring(0, 19));
+        txn.setEventTime(eventTime);
+        txn.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        txn.setFraudFlag(random.nextInt(50) == 0);
+        txn.setLatitude(random.nextDouble(25, 49));
+        txn.setLongitude(random.nextDouble(-124, -67));
+        txn.setDeviceUsed(DEVICES[random.nextInt(DEVICES.length)]);
+        txn.setNetworkSliceId(SLICES[random.nextInt(SLICES.length)]);
+        txn.setLatency(10 + random.nextInt(150));
+        txn.setBandwidth(20 + random.nextInt(200));
+        txn.setPinCode(10000 + random.nextInt(90000));
+        return txn;
+    }
+}
@@ -1,17 +1,71 @@
 package com.ADI_Farmer.fin_data_service;
 
+import com.ADI_Farmer.fin_data_service.ingestion.FraudScorer;
+import com.ADI_Farmer.fin_data_service.ingestion.TransactionIdFilter;
+import com.ADI_Farmer.fin_data_service.service.AccountGraphService;
+import com.ADI_Farmer.fin_data_service.service.AggregateService;
+import com.ADI_Farmer.fin_data_service.service.ColumnarAnalyticsService;
 import com.ADI_Farmer.fin_data_service.service.DashboardService;
+import com.ADI_Farmer.fin_data_service.service.DistinctCountService;
+import com.ADI_Farmer.fin_data_service.service.HeavyHitterService;
+import com.ADI_Farmer.fin_data_service.service.IngestJobService;
+import com.ADI_Farmer.fin_data_service.service.NetworkQosService;
+import com.ADI_Farmer.fin_data_service.service.RollupService;
+import com.ADI_Farmer.fin_data_service.service.SchemaMigrationService;
+import com.ADI_Farmer.fin_data_service.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FinDataServiceApplication implements CommandLineRunner {
 
+	private static final Logger log = LoggerFactory.getLogger(FinDataServiceApplication.class);
+
 	@Autowired
 	private DashboardService dashboardService;
 
+	@Autowired
+	private SchemaMigrationService schemaMigrationService;
+
+	@Autowired
+	private AggregateService aggregateService;
+
+	@Autowired
+	private RollupService rollupService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private ColumnarAnalyticsService columnarAnalyticsService;
+
+	@Autowired
+	private TransactionIdFilter transactionIdFilter;
+
+	@Autowired
+	private DistinctCountService distinctCountService;
+
+	@Autowired
+	private NetworkQosService networkQosService;
+
+	@Autowired
+	private FraudScorer fraudScorer;
+
+	@Autowired
+	private AccountGraphService accountGraphService;
+
+	@Autowired
+	private HeavyHitterService heavyHitterService;
+
+	@Autowired
+	private IngestJobService ingestJobService;
+
 	public static void main(String[] args) {
 		SpringApplication.run(FinDataServiceApplication.class, args);
 	}
@@ -20,6 +74,32 @@ public class FinDataServiceApplication implements CommandLineRunner {
 	public void run(String... args) throws Exception {
 		// Initialize default dashboard configurations
 		dashboardService.initializeDefaultConfigs();
+		// Bring transactions stored in the original layout to the compact schema
+		long migrated = schemaMigrationService.migrateTransactions();
+		if (migrated > 0) {
+			log.info("Migrated {} transactions to the compact schema", migrated);
+		}
+		// Repeated uploads used to store every row again; keep one per transactionId
+		long duplicates = schemaMigrationService.deduplicateTransactions();
+		if (duplicates > 0) {
+			log.info("Removed {} duplicate transactions", duplicates);
+		}
+		// Backfill derived data for databases loaded before it existed
+		long backfilled = transactionService.backfillEventTimes();
+		if (backfilled > 0) {
+			log.info("Backfilled eventTime on {} transactions", backfilled);
+		}
+		aggregateService.initializeAggregates();
+		rollupService.initializeRollups();
+		columnarAnalyticsService.initializeColumns();
+		distinctCountService.initializeSketches();
+		networkQosService.initializeHistograms();
+		transactionIdFilter.load();
+		fraudScorer.warmUp();
+		accountGraphService.initializeGraph();
+		heavyHitterService.initializeHeavyHitters();
+		// Uploads wait for the rebuilds above, which would otherwise miss or double-count them
+		ingestJobService.startAccepting();
 		System.out.println("✅ Financial Data Aggregator API started successfully!");
 		System.out.println("🌐 Dashboard available at: http://localhost:8082");
 		System.out.println("📊 API Documentation at: http://localhost:8082/swagger-ui.html");
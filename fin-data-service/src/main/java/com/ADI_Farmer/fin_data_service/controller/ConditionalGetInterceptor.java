@@ -0,0 +1,76 @@
+package com.ADI_Farmer.fin_data_service.controller;
+
+import com.ADI_Farmer.fin_data_service.ingestion.DataVersion;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Instant;
+
+/**
+ * Answers conditional GETs on the read endpoints from the {@link DataVersion}
+ * alone. The strong ETag is the data version, plus the current minute for sliding
+ * time windows whose result changes as time passes (whether the window comes from the
+ * {@code timeRange} parameter or the handler's default for it), so a matching
+ * {@code If-None-Match} gets a 304 before the handler touches the database.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String TIME_RANGE = "timeRange";
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+
+        // Read before the handler runs: if data arrives meanwhile, the body is newer
+        // than its tag and the next request simply misses
+        String etag = "\"" + dataVersion.tag() + windowSuffix(timeRange(request, handler)) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private static String windowSuffix(String timeRange) {
+        if (TimeRange.fromCode(timeRange).isAll()) {
+            return "";
+        }
+        return "-" + Instant.now().getEpochSecond() / 60;
+    }
+
+    // The timeRange the handler will see: the query parameter, or else its @RequestParam default
+    private static String timeRange(HttpServletRequest request, Object handler) {
+        String timeRange = request.getParameter(TIME_RANGE);
+        if (timeRange != null || !(handler instanceof HandlerMethod method)) {
+            return timeRange;
+        }
+        for (MethodParameter parameter : method.getMethodParameters()) {
+            RequestParam param = parameter.getParameterAnnotation(RequestParam.class);
+            if (param == null || ValueConstants.DEFAULT_NONE.equals(param.defaultValue())) {
+                continue;
+            }
+            parameter.initParameterNameDiscovery(PARAMETER_NAMES);
+            String name = param.name().isEmpty() ? parameter.getParameterName() : param.name();
+            if (TIME_RANGE.equals(name)) {
+                return param.defaultValue();
+            }
+        }
+        return null;
+    }
+}
@@ -1,11 +1,22 @@
 package com.ADI_Farmer.fin_data_service.controller;
 
+import com.ADI_Farmer.fin_data_service.model.AccountCycles;
+import com.ADI_Farmer.fin_data_service.model.AccountEdge;
+import com.ADI_Farmer.fin_data_service.model.AccountNeighborhood;
+import com.ADI_Farmer.fin_data_service.model.IngestJob;
 import com.ADI_Farmer.fin_data_service.model.Transaction;
 import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsSnapshot;
 import com.ADI_Farmer.fin_data_service.model.DashboardConfig;
+import com.ADI_Farmer.fin_data_service.model.DashboardView;
+import com.ADI_Farmer.fin_data_service.model.TransactionFilter;
+import com.ADI_Farmer.fin_data_service.model.TransactionPage;
 import com.ADI_Farmer.fin_data_service.service.TransactionService;
 import com.ADI_Farmer.fin_data_service.service.DashboardService;
-import com.opencsv.exceptions.CsvValidationException;
+import com.ADI_Farmer.fin_data_service.service.DashboardEventService;
+import com.ADI_Farmer.fin_data_service.service.IngestJobService;
+import com.ADI_Farmer.fin_data_service.service.AccountGraphService;
+import com.ADI_Farmer.fin_data_service.service.StoreUnavailableException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,15 +24,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api")
@@ -29,64 +48,78 @@ import java.util.Map;
 @Tag(name = "Financial Data API", description = "APIs for managing financial transactions and analytics")
 public class TransactionController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private TransactionService transactionService;
 
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardEventService dashboardEventService;
+
+    @Autowired
+    private IngestJobService ingestJobService;
+
+    @Autowired
+    private AccountGraphService accountGraphService;
+
                 // Transaction endpoints
             @PostMapping(value = "/transactions/upload/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
             @Operation(summary = "Upload CSV file", description = "Upload a CSV file containing transaction data to be stored in MongoDB")
             @ApiResponses(value = {
-                @ApiResponse(responseCode = "200", description = "CSV file uploaded successfully",
-                    content = @Content(schema = @Schema(implementation = Transaction.class))),
-                @ApiResponse(responseCode = "400", description = "Invalid CSV format"),
+                @ApiResponse(responseCode = "202", description = "CSV file accepted; poll the returned job for progress",
+                    content = @Content(schema = @Schema(implementation = IngestJob.class))),
+                @ApiResponse(responseCode = "429", description = "Too many ingestion jobs queued"),
                 @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-            public List<Transaction> uploadCSV(
+            public ResponseEntity<IngestJob> uploadCSV(
                     @Parameter(description = "CSV file to upload", required = true)
-                    @RequestParam("file") MultipartFile file) throws IOException, CsvValidationException {
-                return transactionService.loadCSVFromFile(file);
+                    @RequestParam("file") MultipartFile file) throws IOException {
+                return accepted(transactionService.loadCSVFromFile(file));
             }
 
             @PostMapping(value = "/transactions/upload/csv/path", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
             @Operation(summary = "Upload CSV by path", description = "Load CSV file from a file path on the server")
             @ApiResponses(value = {
-                @ApiResponse(responseCode = "200", description = "CSV file loaded successfully"),
+                @ApiResponse(responseCode = "202", description = "CSV file accepted; poll the returned job for progress"),
                 @ApiResponse(responseCode = "400", description = "Invalid file path"),
+                @ApiResponse(responseCode = "429", description = "Too many ingestion jobs queued"),
                 @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-            public List<Transaction> uploadCSVByPath(
+            public ResponseEntity<IngestJob> uploadCSVByPath(
                     @Parameter(description = "File path on server", required = true)
-                    @RequestParam String path) throws IOException, CsvValidationException {
-                return transactionService.loadCSV(path);
+                    @RequestParam String path) throws IOException {
+                return accepted(transactionService.loadCSV(path));
             }
 
             @PostMapping(value = "/transactions/upload/json", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-            @Operation(summary = "Upload JSON file", description = "Upload a JSON file containing transaction data")
+            @Operation(summary = "Upload JSON file", description = "Upload a JSON array or NDJSON (one object per line) file containing transaction data")
             @ApiResponses(value = {
-                @ApiResponse(responseCode = "200", description = "JSON file uploaded successfully"),
-                @ApiResponse(responseCode = "400", description = "Invalid JSON format"),
+                @ApiResponse(responseCode = "202", description = "JSON file accepted; poll the returned job for progress"),
+                @ApiResponse(responseCode = "429", description = "Too many ingestion jobs queued"),
                 @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-            public List<Transaction> uploadJSON(
+            public ResponseEntity<IngestJob> uploadJSON(
                     @Parameter(description = "JSON file to upload", required = true)
                     @RequestParam("file") MultipartFile file) throws IOException {
-                return transactionService.loadJSONFromFile(file);
+                return accepted(transactionService.loadJSONFromFile(file));
             }
 
             @PostMapping(value = "/transactions/upload/json/path", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-            @Operation(summary = "Upload JSON by path", description = "Load JSON file from a file path on the server")
+            @Operation(summary = "Upload JSON by path", description = "Load a JSON array or NDJSON file from a file path on the server")
             @ApiResponses(value = {
-                @ApiResponse(responseCode = "200", description = "JSON file loaded successfully"),
+                @ApiResponse(responseCode = "202", description = "JSON file accepted; poll the returned job for progress"),
                 @ApiResponse(responseCode = "400", description = "Invalid file path"),
+                @ApiResponse(responseCode = "429", description = "Too many ingestion jobs queued"),
                 @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-            public List<Transaction> uploadJSONByPath(
+            public ResponseEntity<IngestJob> uploadJSONByPath(
                     @Parameter(description = "File path on server", required = true)
                     @RequestParam String path) throws IOException {
-                return transactionService.loadJSON(path);
+                return accepted(transactionService.loadJSON(path));
             }
 
                 @GetMapping("/transactions")
@@ -98,6 +131,59 @@ public class TransactionController {
                 return transactionService.getAllTransactions();
             }
 
+    @GetMapping("/transactions/jobs")
+    @Operation(summary = "List ingestion jobs", description = "Queued, running and recently finished ingestion jobs")
+    public List<IngestJob> getJobs() {
+        return ingestJobService.getJobs();
+    }
+
+    @GetMapping("/transactions/jobs/{id}")
+    @Operation(summary = "Get an ingestion job", description = "State and progress: rows read, written and rejected, and throughput")
+    public ResponseEntity<IngestJob> getJob(@PathVariable String id) {
+        return ResponseEntity.of(ingestJobService.getJob(id));
+    }
+
+    @PostMapping("/transactions/jobs/{id}/cancel")
+    @Operation(summary = "Cancel an ingestion job", description = "Stops reading; batches already written are kept")
+    public ResponseEntity<IngestJob> cancelJob(@PathVariable String id) {
+        return ResponseEntity.of(ingestJobService.cancel(id));
+    }
+
+    private static ResponseEntity<IngestJob> accepted(IngestJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/transactions/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/transactions/page")
+    @Operation(summary = "Get a page of transactions", description = "Keyset-paginated, filtered transactions; pass nextToken back as 'after' for the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the page"),
+        @ApiResponse(responseCode = "400", description = "Invalid continuation token or page size")
+    })
+    public ResponseEntity<TransactionPage> getPage(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int size,
+            @ParameterObject TransactionFilter filter) {
+        if ((after != null && !ObjectId.isValid(after)) || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(transactionService.getTransactionPage(after, size, filter));
+    }
+
+    @GetMapping(value = "/transactions/stream", produces = NDJSON)
+    @Operation(summary = "Stream transactions", description = "Stream matching transactions as NDJSON directly from a database cursor")
+    public ResponseEntity<StreamingResponseBody> streamTransactions(@ParameterObject TransactionFilter filter) {
+        StreamingResponseBody body = out -> transactionService.streamTransactions(filter, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping("/transactions/explain")
+    @Operation(summary = "Explain a transaction filter", description = "MongoDB query plan and execution stats for the first page of a filter")
+    public Document explainFilter(@ParameterObject TransactionFilter filter) {
+        return transactionService.explainFilter(filter);
+    }
+
     @GetMapping("/transactions/dashboard")
     public List<Transaction> getDashboardData(
             @RequestParam(required = false) String status,
@@ -107,38 +193,95 @@ public class TransactionController {
 
     // Analytics endpoints
     @GetMapping("/analytics/summary")
-    public Map<String, Object> getDashboardSummary() {
-        return transactionService.getDashboardSummary();
+    public Map<String, Object> getDashboardSummary(@RequestParam(defaultValue = "all") String timeRange) {
+        return dashboardService.getDashboardSummary(timeRange);
     }
 
     @GetMapping("/analytics/all")
-    public List<AnalyticsData> getAllAnalytics() {
-        return transactionService.getAllAnalytics();
+    public List<AnalyticsData> getAllAnalytics(@RequestParam(defaultValue = "all") String timeRange) {
+        return transactionService.getAllAnalytics(timeRange);
+    }
+
+    @GetMapping("/analytics/snapshot")
+    @Operation(summary = "Get analytics snapshot", description = "Summary and all charts computed in a single aggregation pass")
+    public AnalyticsSnapshot getAnalyticsSnapshot(@RequestParam(defaultValue = "all") String timeRange) {
+        return transactionService.getAnalyticsSnapshot(timeRange);
     }
 
     @GetMapping("/analytics/amount-by-type")
-    public AnalyticsData getAmountByType() {
-        return transactionService.getTransactionAmountByType();
+    public AnalyticsData getAmountByType(@RequestParam(defaultValue = "all") String timeRange) {
+        return transactionService.getTransactionAmountByType(timeRange);
     }
 
     @GetMapping("/analytics/status-distribution")
-    public AnalyticsData getStatusDistribution() {
-        return transactionService.getTransactionCountByStatus();
+    public AnalyticsData getStatusDistribution(@RequestParam(defaultValue = "all") String timeRange) {
+        return transactionService.getTransactionCountByStatus(timeRange);
     }
 
     @GetMapping("/analytics/fraud-analysis")
-    public AnalyticsData getFraudAnalysis() {
-        return transactionService.getFraudAnalysis();
+    public AnalyticsData getFraudAnalysis(@RequestParam(defaultValue = "all") String timeRange) {
+        return transactionService.getFraudAnalysis(timeRange);
     }
 
     @GetMapping("/analytics/amount-trend")
-    public AnalyticsData getAmountTrend() {
-        return transactionService.getAmountTrend();
+    @Operation(summary = "Get amount trend", description = "Amount trend from minute/hour/day rollups; the resolution is the finest that fits maxPoints, and longer spans merge buckets to fit")
+    public AnalyticsData getAmountTrend(@RequestParam(defaultValue = "all") String timeRange,
+                                       @RequestParam(defaultValue = "120") int maxPoints) {
+        return transactionService.getAmountTrend(timeRange, Math.max(1, maxPoints));
+    }
+
+    @GetMapping("/analytics/risk-distribution")
+    @Operation(summary = "Get risk distribution", description = "Transactions by ingest-time fraud risk score band")
+    public AnalyticsData getRiskDistribution(@RequestParam(defaultValue = "all") String timeRange) {
+        return transactionService.getRiskDistribution(timeRange);
+    }
+
+    @GetMapping("/analytics/network-qos")
+    @Operation(summary = "Get network QoS", description = "p50/p95/p99 latency and bandwidth per network slice, or per device with groupBy=device")
+    public AnalyticsData getNetworkQos(@RequestParam(defaultValue = "slice") String groupBy,
+                                       @RequestParam(defaultValue = "all") String timeRange) {
+        return transactionService.getNetworkQos(groupBy, timeRange);
+    }
+
+    @GetMapping("/analytics/heavy-hitters")
+    @Operation(summary = "Get heavy hitters", description = "Most frequent senders, receivers, pin codes or devices (key=sender|receiver|pinCode|device) over a sliding window ending now, or the tumbling window of the current hour, day, week or month")
+    public AnalyticsData getHeavyHitters(@RequestParam(defaultValue = "sender") String key,
+                                         @RequestParam(defaultValue = "24h") String timeRange,
+                                         @RequestParam(defaultValue = "sliding") String window,
+                                         @RequestParam(defaultValue = "10") int k) {
+        return transactionService.getHeavyHitters(key, timeRange, window, k);
     }
 
     @GetMapping("/analytics/device-usage")
-    public AnalyticsData getDeviceUsage() {
-        return transactionService.getDeviceUsageAnalysis();
+    public AnalyticsData getDeviceUsage(@RequestParam(defaultValue = "all") String timeRange) {
+        return transactionService.getDeviceUsageAnalysis(timeRange);
+    }
+
+    // Account graph endpoints
+    @GetMapping("/accounts/{accountId}/counterparties")
+    @Operation(summary = "Get top counterparties", description = "The k accounts this account pays (direction=out), is paid by (in) or both, ranked by transaction count or by=amount")
+    public ResponseEntity<List<AccountEdge>> getCounterparties(@PathVariable String accountId,
+                                                               @RequestParam(defaultValue = "10") int k,
+                                                               @RequestParam(defaultValue = "out") String direction,
+                                                               @RequestParam(defaultValue = "count") String by) {
+        return ResponseEntity.of(accountGraphService.getTopCounterparties(accountId, k, direction, by));
+    }
+
+    @GetMapping("/accounts/{accountId}/neighborhood")
+    @Operation(summary = "Get account neighborhood", description = "Accounts within the given number of hops and the edges between them, up to limit accounts")
+    public ResponseEntity<AccountNeighborhood> getNeighborhood(@PathVariable String accountId,
+                                                               @RequestParam(defaultValue = "2") int hops,
+                                                               @RequestParam(defaultValue = "200") int limit,
+                                                               @RequestParam(defaultValue = "both") String direction) {
+        return ResponseEntity.of(accountGraphService.getNeighborhood(accountId, hops, limit, direction));
+    }
+
+    @GetMapping("/accounts/{accountId}/cycles")
+    @Operation(summary = "Find money loops", description = "Simple payment cycles through the account of at most maxLength transfers, e.g. A -> B -> C -> A")
+    public ResponseEntity<AccountCycles> getCycles(@PathVariable String accountId,
+                                                   @RequestParam(defaultValue = "4") int maxLength,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.of(accountGraphService.getCycles(accountId, maxLength, limit));
     }
 
     // Dashboard configuration endpoints
@@ -186,8 +329,37 @@ public class TransactionController {
     }
 
     @GetMapping("/dashboard/analytics/{dataSource}")
-    public AnalyticsData getAnalyticsForDataSource(@PathVariable String dataSource) {
-        return dashboardService.getAnalyticsForConfig(dataSource);
+    public AnalyticsData getAnalyticsForDataSource(@PathVariable String dataSource,
+                                                   @RequestParam(defaultValue = "all") String timeRange) {
+        return dashboardService.getAnalyticsForConfig(dataSource, timeRange);
+    }
+
+    @GetMapping("/dashboard/view")
+    @Operation(summary = "Get the dashboard view", description = "Summary, active chart configurations and every active chart's data in one response")
+    public DashboardView getDashboardView() {
+        return dashboardService.getDashboardView();
+    }
+
+    @Operation(summary = "Subscribe to dashboard updates",
+            description = "Server-Sent Events stream: a 'summary' event and a 'chart' event per changed active chart whenever new data is ingested")
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        return dashboardEventService.subscribe();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> tooManyJobs(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(StoreUnavailableException.class)
+    public ResponseEntity<Map<String, String>> unavailable(StoreUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
     }
 
     // Health check endpoint
@@ -0,0 +1,22 @@
+package com.ADI_Farmer.fin_data_service.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Only responses that are a function of the stored data; explain carries live stats
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/api/analytics/**", "/api/dashboard/analytics/**",
+                        "/api/transactions", "/api/transactions/page",
+                        "/api/transactions/stream", "/api/transactions/dashboard");
+    }
+}
@@ -0,0 +1,93 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+/**
+ * CSV input with the 15-column transaction layout, read from an upload or a server path.
+ */
+public class CsvTransactionSource implements TransactionSource {
+
+    private static final int COLUMNS = 15;
+
+    private final String name;
+    private final CSVReader reader;
+    private boolean headerSkipped;
+
+    public CsvTransactionSource(String name, Reader reader) {
+        this.name = name;
+        this.reader = new CSVReader(reader);
+    }
+
+    public static CsvTransactionSource fromPath(String filePath) throws IOException {
+        return new CsvTransactionSource(filePath, new FileReader(filePath));
+    }
+
+    public static CsvTransactionSource fromUpload(MultipartFile file) throws IOException {
+        return new CsvTransactionSource(file.getOriginalFilename(), new InputStreamReader(file.getInputStream()));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RawRecord next() throws IOException {
+        try {
+            if (!headerSkipped) {
+                reader.readNext();
+                headerSkipped = true;
+            }
+            String[] line = reader.readNext();
+            return line != null ? new RawRecord(reader.getLinesRead(), line) : null;
+        } catch (CsvValidationException e) {
+            throw new IOException("Invalid CSV at line " + e.getLineNumber() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Transaction parse(RawRecord record) {
+        String[] line = (String[]) record.getPayload();
+        if (line.length < COLUMNS) {
+            throw new IllegalArgumentException("expected " + COLUMNS + " fields, found " + line.length);
+        }
+
+        Transaction txn = new Transaction();
+        txn.setTransactionId(line[0].trim());
+        txn.setSenderAccountId(line[1].trim());
+        txn.setReceiverAccountId(line[2].trim());
+        txn.setAmount(Double.parseDouble(line[3].trim()));
+        txn.setType(line[4].trim());
+        txn.setTimestamp(line[5].trim());
+        txn.setStatus(line[6].trim());
+        txn.setFraudFlag(Boolean.parseBoolean(line[7].trim()));
+
+        txn.setLatitude(coordinate(line[8]));
+        txn.setLongitude(coordinate(line[9]));
+
+        txn.setDeviceUsed(line[10].trim());
+        txn.setNetworkSliceId(line[11].trim());
+        txn.setLatency(Integer.parseInt(line[12].trim()));
+        txn.setBandwidth(Integer.parseInt(line[13].trim()));
+        txn.setPinCode(Integer.parseInt(line[14].trim()));
+        return txn;
+    }
+
+    private static Double coordinate(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : Double.valueOf(trimmed);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
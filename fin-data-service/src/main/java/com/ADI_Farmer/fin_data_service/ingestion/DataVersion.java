@@ -0,0 +1,30 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic counter of ingested batches. Bumped by {@link TransactionWriter} after
+ * every listener has applied a batch, so anything derived at version N reflects at
+ * least all data written before N was read. The counter restarts with the process,
+ * so {@link #tag()} qualifies it with the start time for use outside this JVM.
+ */
+@Component
+public class DataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public long current() {
+        return version.get();
+    }
+
+    public String tag() {
+        return epoch + "-" + current();
+    }
+
+    long increment() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,41 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Parses the free-form ISO-8601 {@code timestamp} strings found in uploads into
+ * instants. Values without an offset, like "2024-01-15T10:30:00", are taken as UTC.
+ */
+public final class EventTimes {
+
+    private EventTimes() {
+    }
+
+    /** Returns the parsed instant, or null if the value is blank or not ISO-8601. */
+    public static Instant parse(String timestamp) {
+        if (timestamp == null || timestamp.isBlank()) {
+            return null;
+        }
+
+        String value = timestamp.trim();
+        try {
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+            }
+            TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(value,
+                    OffsetDateTime::from, LocalDateTime::from);
+            return parsed instanceof OffsetDateTime offset
+                    ? offset.toInstant()
+                    : ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
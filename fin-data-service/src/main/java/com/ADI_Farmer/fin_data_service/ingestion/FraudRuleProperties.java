@@ -0,0 +1,67 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code fraud.*} settings of {@link FraudScorer}: the scoring rules and the
+ * size of the per-sender state.
+ */
+@Component
+@ConfigurationProperties(prefix = "fraud")
+public class FraudRuleProperties {
+
+    public enum Feature {
+        COUNT,          // transactions by the sender in the window
+        AMOUNT,         // total amount sent in the window
+        RECEIVERS,      // distinct receiver accounts in the window
+        PIN_CODES,      // distinct pin codes in the window
+        TXN_AMOUNT      // amount of the transaction itself; no window
+    }
+
+    /** Fires when the feature exceeds the threshold, adding its weight to the score. */
+    public static class Rule {
+        private String name;
+        private Feature feature;
+        private Duration window;
+        private double threshold;
+        private int weight;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public Feature getFeature() { return feature; }
+        public void setFeature(Feature feature) { this.feature = feature; }
+
+        public Duration getWindow() { return window; }
+        public void setWindow(Duration window) { this.window = window; }
+
+        public double getThreshold() { return threshold; }
+        public void setThreshold(double threshold) { this.threshold = threshold; }
+
+        public int getWeight() { return weight; }
+        public void setWeight(int weight) { this.weight = weight; }
+    }
+
+    private boolean enabled = true;
+    private int stripes = 64;
+    private int maxEventsPerSender = 1024;
+    private List<Rule> rules = new ArrayList<>();
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+
+    public int getMaxEventsPerSender() { return maxEventsPerSender; }
+    public void setMaxEventsPerSender(int maxEventsPerSender) { this.maxEventsPerSender = maxEventsPerSender; }
+
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+}
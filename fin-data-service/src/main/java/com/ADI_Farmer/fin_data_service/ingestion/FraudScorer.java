@@ -0,0 +1,222 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Scoring stage of ingestion. Each transaction is scored by the configured rules
+ * against its sender's {@link SenderWindow} features, including itself and the rows
+ * before it in the batch: the fired rules' weights add up to a risk score (capped at
+ * 100) stored on the transaction with the rule names. Scoring works on copies of the
+ * windows, since it runs before the write; only the rows actually stored are then
+ * {@link #record}ed into the sender state. Sender state
+ * is split over lock stripes by account id, so concurrent writer threads only
+ * contend on the same stripe, and senders idle for longer than the longest window
+ * are dropped by a periodic sweep.
+ */
+@Component
+public class FraudScorer {
+
+    public static final int MAX_SCORE = 100;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final FraudRuleProperties properties;
+    private final long[] windows;         // distinct rule windows in millis, ascending
+    private final int[] ruleWindows;      // per rule: index into windows, -1 for TXN_AMOUNT
+    private final Stripe[] stripes;
+    private final AtomicLong latestEventTime = new AtomicLong(Long.MIN_VALUE);
+
+    public FraudScorer(FraudRuleProperties properties) {
+        this.properties = properties;
+
+        List<FraudRuleProperties.Rule> rules = properties.getRules();
+        for (FraudRuleProperties.Rule rule : rules) {
+            if (rule.getFeature() == null
+                    || (rule.getFeature() != FraudRuleProperties.Feature.TXN_AMOUNT && rule.getWindow() == null)) {
+                throw new IllegalArgumentException("Fraud rule " + rule.getName() + " needs a feature and a window");
+            }
+        }
+        this.windows = rules.stream()
+                .filter(rule -> rule.getFeature() != FraudRuleProperties.Feature.TXN_AMOUNT)
+                .mapToLong(rule -> rule.getWindow().toMillis())
+                .distinct()
+                .sorted()
+                .toArray();
+        this.ruleWindows = new int[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            FraudRuleProperties.Rule rule = rules.get(i);
+            ruleWindows[i] = rule.getFeature() == FraudRuleProperties.Feature.TXN_AMOUNT
+                    ? -1
+                    : Arrays.binarySearch(windows, rule.getWindow().toMillis());
+        }
+
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes()));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /** Sets each row's risk score, leaving the sender windows unchanged. */
+    public void score(List<Transaction> batch) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        List<FraudRuleProperties.Rule> rules = properties.getRules();
+        Map<String, SenderWindow> scratch = new HashMap<>(); // copies of the batch's senders' windows
+        for (Transaction txn : batch) {
+            SenderWindow window = scratchWindow(scratch, txn);
+            List<String> fired = new ArrayList<>();
+            int score = 0;
+            for (int i = 0; i < rules.size(); i++) {
+                FraudRuleProperties.Rule rule = rules.get(i);
+                if (feature(rule.getFeature(), ruleWindows[i], window, txn) > rule.getThreshold()) {
+                    fired.add(rule.getName());
+                    score += rule.getWeight();
+                }
+            }
+
+            txn.setRiskScore(Math.min(MAX_SCORE, score));
+            txn.setRiskRules(fired.isEmpty() ? null : fired);
+        }
+    }
+
+    /** Adds stored rows to their senders' windows. */
+    public void record(List<Transaction> stored) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (Transaction txn : stored) {
+            Stripe stripe = stripeOf(txn.getSenderAccountId());
+            synchronized (stripe) {
+                observe(stripe, txn);
+            }
+        }
+    }
+
+    /**
+     * Replays the stored transactions of the longest window into the sender state, so
+     * velocity features survive a restart. Returns the number of rows replayed.
+     */
+    public long warmUp() {
+        if (!properties.isEnabled() || windows.length == 0) {
+            return 0;
+        }
+
+        Instant since = Instant.now().minusMillis(windows[windows.length - 1]);
+        Query query = Query.query(Criteria.where("eventTime").gte(since)).with(Sort.by("eventTime"));
+        query.fields().include("senderAccountId", "receiverAccountId", "amount", "pinCode", "eventTime");
+
+        long rows = 0;
+        try (Stream<Transaction> cursor = mongoTemplate.stream(query, Transaction.class)) {
+            Iterator<Transaction> it = cursor.iterator();
+            while (it.hasNext()) {
+                Transaction txn = it.next();
+                Stripe stripe = stripeOf(txn.getSenderAccountId());
+                synchronized (stripe) {
+                    observe(stripe, txn);
+                }
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.sweep-ms:60000}")
+    public void evictIdleSenders() {
+        long latest = latestEventTime.get();
+        if (windows.length == 0 || latest == Long.MIN_VALUE) {
+            return;
+        }
+        long cutoff = latest - windows[windows.length - 1];
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.senders.values().removeIf(window -> window.latest() <= cutoff);
+            }
+        }
+    }
+
+    // Caller holds the stripe lock
+    private void observe(Stripe stripe, Transaction txn) {
+        if (txn.getSenderAccountId() == null || windows.length == 0) {
+            return;
+        }
+        SenderWindow window = stripe.senders.computeIfAbsent(txn.getSenderAccountId(),
+                sender -> new SenderWindow(windows, properties.getMaxEventsPerSender()));
+        latestEventTime.accumulateAndGet(append(window, txn), Math::max);
+    }
+
+    // The sender's window as of this row, on a copy taken at the sender's first row in the batch
+    private SenderWindow scratchWindow(Map<String, SenderWindow> scratch, Transaction txn) {
+        String sender = txn.getSenderAccountId();
+        if (sender == null || windows.length == 0) {
+            return null;
+        }
+        SenderWindow window = scratch.get(sender);
+        if (window == null) {
+            Stripe stripe = stripeOf(sender);
+            synchronized (stripe) {
+                SenderWindow stored = stripe.senders.get(sender);
+                window = stored != null ? stored.copy() : new SenderWindow(windows, properties.getMaxEventsPerSender());
+            }
+            scratch.put(sender, window);
+        }
+        append(window, txn);
+        return window;
+    }
+
+    // Rows without an event time count as the sender's latest
+    private static long append(SenderWindow window, Transaction txn) {
+        long time = txn.getEventTime() != null ? txn.getEventTime().toEpochMilli() : Math.max(window.latest(), 0);
+        window.add(time, txn.getAmount(), txn.getReceiverAccountId(), txn.getPinCode());
+        return time;
+    }
+
+    private static double feature(FraudRuleProperties.Feature feature, int w, SenderWindow window, Transaction txn) {
+        if (feature == FraudRuleProperties.Feature.TXN_AMOUNT) {
+            return txn.getAmount();
+        }
+        if (window == null) {
+            return 0;
+        }
+        switch (feature) {
+            case COUNT:
+                return window.count(w);
+            case AMOUNT:
+                return window.amount(w);
+            case RECEIVERS:
+                return window.receivers(w);
+            case PIN_CODES:
+            default:
+                return window.pinCodes(w);
+        }
+    }
+
+    private Stripe stripeOf(String sender) {
+        int hash = sender == null ? 0 : sender.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        final Map<String, SenderWindow> senders = new HashMap<>();
+    }
+}
@@ -0,0 +1,21 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Callback for components that derive state from ingested data. Invoked by the
+ * writer stage after each batch has been persisted, possibly from several writer
+ * threads at once.
+ */
+public interface IngestListener {
+    void onBatchPersisted(List<Transaction> batch);
+
+    /**
+     * Discards the derived state and builds it again from the stored transactions.
+     * Called between batches after {@link #onBatchPersisted} failed: the rows are
+     * stored by then, so uploading them again would skip them as duplicates.
+     */
+    void rebuild();
+}
@@ -0,0 +1,161 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.IngestReport;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Three-stage ingestion: the calling thread reads raw records from a
+ * {@link TransactionSource} in chunks, a pool of parser threads maps and validates
+ * each chunk and stamps the typed event time, and a pool of writer threads hands
+ * the resulting batches to {@link TransactionWriter}. At most
+ * {@code ingestion.queue-capacity} chunks per run are in flight between the stages,
+ * so a slow database throttles parsing and reading instead of buffering the whole
+ * file. Chunk tasks never block, which lets concurrent runs share both pools safely.
+ * A run stops early once its report is cancelled. Accepted, duplicate and rejected
+ * rows (by reason) are counted in {@code ingest.rows.*} and batch writes timed in
+ * {@code ingest.batch.write}.
+ */
+@Component
+public class IngestionPipeline {
+
+    @Autowired
+    private TransactionWriter writer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ingestion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${ingestion.queue-capacity:8}")
+    private int queueCapacity;
+
+    private final ExecutorService parsePool;
+    private final ExecutorService writePool;
+
+    public IngestionPipeline(@Value("${ingestion.parser-threads:0}") int parserThreads,
+                             @Value("${ingestion.writer-threads:2}") int writerThreads) {
+        int parsers = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        this.parsePool = Executors.newFixedThreadPool(parsers, named("ingest-parse"));
+        this.writePool = Executors.newFixedThreadPool(Math.max(1, writerThreads), named("ingest-write"));
+    }
+
+    public IngestReport run(TransactionSource source) throws IOException {
+        return run(source, new IngestReport());
+    }
+
+    public IngestReport run(TransactionSource source, IngestReport report) throws IOException {
+        report.start();
+        Semaphore inFlight = new Semaphore(queueCapacity);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        try (source) {
+            read(source, inFlight, failure, report);
+            inFlight.acquire(queueCapacity); // every chunk has been written or dropped
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Ingestion of " + source.getName() + " was interrupted", e);
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return report.finish();
+    }
+
+    private void read(TransactionSource source, Semaphore inFlight,
+                      AtomicReference<RuntimeException> failure, IngestReport report) throws InterruptedException {
+        List<RawRecord> chunk = new ArrayList<>(batchSize);
+        long lastRow = 0;
+        try {
+            RawRecord record;
+            while (failure.get() == null && !report.isCancelled() && (record = source.next()) != null) {
+                lastRow = record.getRow();
+                chunk.add(record);
+                if (chunk.size() >= batchSize) {
+                    report.read(chunk.size());
+                    submit(source, chunk, inFlight, failure, report);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+        } catch (IOException e) {
+            report.reject(lastRow + 1, "read failed: " + e.getMessage());
+            rejected("ReadFailure", 1);
+        }
+
+        if (!chunk.isEmpty() && !report.isCancelled()) {
+            report.read(chunk.size());
+            submit(source, chunk, inFlight, failure, report);
+        }
+    }
+
+    private void submit(TransactionSource source, List<RawRecord> chunk, Semaphore inFlight,
+                        AtomicReference<RuntimeException> failure, IngestReport report) throws InterruptedException {
+        inFlight.acquire();
+        parsePool.execute(() -> {
+            List<Transaction> batch = new ArrayList<>(chunk.size());
+            for (RawRecord record : chunk) {
+                try {
+                    Transaction txn = source.parse(record);
+                    txn.setEventTime(EventTimes.parse(txn.getTimestamp()));
+                    batch.add(txn);
+                } catch (Exception e) {
+                    report.reject(record.getRow(), e.getClass().getSimpleName() + ": " + e.getMessage());
+                    rejected(e.getClass().getSimpleName(), 1);
+                }
+            }
+
+            writePool.execute(() -> {
+                try {
+                    if (failure.get() == null && !report.isCancelled()) {
+                        int written = Timer.builder("ingest.batch.write").register(meterRegistry)
+                                .record(() -> writer.write(batch));
+                        report.accept(written);
+                        report.duplicate(batch.size() - written);
+                        meterRegistry.counter("ingest.rows.accepted").increment(written);
+                        meterRegistry.counter("ingest.rows.duplicate").increment(batch.size() - written);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        });
+    }
+
+    private void rejected(String reason, int rows) {
+        meterRegistry.counter("ingest.rows.rejected", "reason", reason).increment(rows);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsePool.shutdownNow();
+        writePool.shutdownNow();
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * JSON input, read from an upload or a server path. Accepts either one array of
+ * transaction objects or NDJSON (one object per line). The input is tokenized with
+ * a streaming {@link JsonParser}, so only the current element is ever held in
+ * memory however large the file is.
+ */
+public class JsonTransactionSource implements TransactionSource {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private final String name;
+    private final InputStream in;
+    private JsonParser parser;
+    private boolean array;
+    private long row;
+
+    public JsonTransactionSource(String name, InputStream in) {
+        this.name = name;
+        this.in = in;
+    }
+
+    public static JsonTransactionSource fromPath(String filePath) throws IOException {
+        File jsonFile = new File(filePath);
+
+        if (!jsonFile.exists() || !jsonFile.isFile()) {
+            throw new IOException("File not found: " + filePath);
+        }
+        return new JsonTransactionSource(filePath, new FileInputStream(jsonFile));
+    }
+
+    public static JsonTransactionSource fromUpload(MultipartFile file) throws IOException {
+        return new JsonTransactionSource(file.getOriginalFilename(), file.getInputStream());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RawRecord next() throws IOException {
+        JsonToken token;
+        if (parser == null) {
+            parser = MAPPER.getFactory().createParser(in);
+            token = parser.nextToken();
+            array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+        } else {
+            token = parser.nextToken();
+        }
+
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a transaction object but found " + token
+                    + " at line " + parser.currentTokenLocation().getLineNr());
+        }
+
+        // Array elements are numbered by position, NDJSON records by line
+        long position = array ? ++row : parser.currentTokenLocation().getLineNr();
+        JsonNode element = parser.readValueAsTree();
+        return new RawRecord(position, element);
+    }
+
+    @Override
+    public Transaction parse(RawRecord record) throws IOException {
+        return MAPPER.treeToValue((JsonNode) record.getPayload(), Transaction.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (parser != null) {
+            parser.close();
+        }
+        in.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+/**
+ * One unparsed input record and its position in the source, used in rejection reasons.
+ */
+public class RawRecord {
+    private final long row;
+    private final Object payload;
+
+    public RawRecord(long row, Object payload) {
+        this.row = row;
+        this.payload = payload;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+}
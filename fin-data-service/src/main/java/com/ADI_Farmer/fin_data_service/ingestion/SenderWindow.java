@@ -0,0 +1,173 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sliding-window features of one sender's recent transactions over several windows
+ * at once: count, total amount and distinct receivers and pin codes. The events of
+ * the longest window sit in a ring buffer (at most {@code maxEvents} of them); every
+ * window keeps running totals and value multisets, and evicts from its own start as
+ * the sender's latest event time moves on, so an update is amortized O(windows).
+ * Windows are measured in event time; a row older than the sender's latest counts
+ * until the window passes the rows that arrived before it. Not thread-safe.
+ */
+class SenderWindow {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final long[] windows;     // millis, one per tracked window
+    private final int maxEvents;
+
+    private long[] times = new long[INITIAL_CAPACITY];
+    private double[] amounts = new double[INITIAL_CAPACITY];
+    private String[] receivers = new String[INITIAL_CAPACITY];
+    private int[] pinCodes = new int[INITIAL_CAPACITY];
+    private long head;                // sequence number of the oldest retained event
+    private long tail;                // sequence number of the next event
+    private long latest = Long.MIN_VALUE;
+
+    private final long[] starts;      // per window: first event still inside it
+    private final long[] counts;
+    private final double[] sums;
+    private final Map<String, Integer>[] receiverCounts;
+    private final Map<Integer, Integer>[] pinCounts;
+
+    @SuppressWarnings("unchecked")
+    SenderWindow(long[] windows, int maxEvents) {
+        this.windows = windows;
+        this.maxEvents = Math.max(1, maxEvents);
+        this.starts = new long[windows.length];
+        this.counts = new long[windows.length];
+        this.sums = new double[windows.length];
+        this.receiverCounts = new Map[windows.length];
+        this.pinCounts = new Map[windows.length];
+        for (int w = 0; w < windows.length; w++) {
+            receiverCounts[w] = new HashMap<>();
+            pinCounts[w] = new HashMap<>();
+        }
+    }
+
+    void add(long time, double amount, String receiver, int pinCode) {
+        if (tail - head == maxEvents) {
+            for (int w = 0; w < windows.length; w++) {
+                if (starts[w] == head) {
+                    evict(w);
+                }
+            }
+            head++;
+        }
+        if (tail - head == times.length) {
+            grow();
+        }
+
+        int slot = slot(tail);
+        times[slot] = time;
+        amounts[slot] = amount;
+        receivers[slot] = receiver;
+        pinCodes[slot] = pinCode;
+        tail++;
+        latest = Math.max(latest, time);
+
+        for (int w = 0; w < windows.length; w++) {
+            counts[w]++;
+            sums[w] += amount;
+            if (receiver != null) {
+                receiverCounts[w].merge(receiver, 1, Integer::sum);
+            }
+            if (pinCode != 0) {
+                pinCounts[w].merge(pinCode, 1, Integer::sum);
+            }
+            while (starts[w] < tail && times[slot(starts[w])] <= latest - windows[w]) {
+                evict(w);
+            }
+        }
+
+        long oldest = tail;
+        for (long start : starts) {
+            oldest = Math.min(oldest, start);
+        }
+        head = Math.max(head, oldest);
+    }
+
+    /** An independent copy, to score rows against without changing this window. */
+    SenderWindow copy() {
+        SenderWindow copy = new SenderWindow(windows, maxEvents);
+        copy.times = times.clone();
+        copy.amounts = amounts.clone();
+        copy.receivers = receivers.clone();
+        copy.pinCodes = pinCodes.clone();
+        copy.head = head;
+        copy.tail = tail;
+        copy.latest = latest;
+        System.arraycopy(starts, 0, copy.starts, 0, starts.length);
+        System.arraycopy(counts, 0, copy.counts, 0, counts.length);
+        System.arraycopy(sums, 0, copy.sums, 0, sums.length);
+        for (int w = 0; w < windows.length; w++) {
+            copy.receiverCounts[w].putAll(receiverCounts[w]);
+            copy.pinCounts[w].putAll(pinCounts[w]);
+        }
+        return copy;
+    }
+
+    long latest() {
+        return latest;
+    }
+
+    long count(int window) {
+        return counts[window];
+    }
+
+    double amount(int window) {
+        return sums[window];
+    }
+
+    int receivers(int window) {
+        return receiverCounts[window].size();
+    }
+
+    int pinCodes(int window) {
+        return pinCounts[window].size();
+    }
+
+    private void evict(int w) {
+        int slot = slot(starts[w]);
+        counts[w]--;
+        sums[w] -= amounts[slot];
+        if (receivers[slot] != null) {
+            decrement(receiverCounts[w], receivers[slot]);
+        }
+        if (pinCodes[slot] != 0) {
+            decrement(pinCounts[w], pinCodes[slot]);
+        }
+        starts[w]++;
+    }
+
+    private static <K> void decrement(Map<K, Integer> multiset, K key) {
+        multiset.computeIfPresent(key, (k, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % times.length);
+    }
+
+    private void grow() {
+        int capacity = Math.min(times.length * 2, Math.max(maxEvents, INITIAL_CAPACITY));
+        long[] newTimes = new long[capacity];
+        double[] newAmounts = new double[capacity];
+        String[] newReceivers = new String[capacity];
+        int[] newPins = new int[capacity];
+        for (long seq = head; seq < tail; seq++) {
+            int from = slot(seq);
+            int to = (int) (seq % capacity);
+            newTimes[to] = times[from];
+            newAmounts[to] = amounts[from];
+            newReceivers[to] = receivers[from];
+            newPins[to] = pinCodes[from];
+        }
+        times = newTimes;
+        amounts = newAmounts;
+        receivers = newReceivers;
+        pinCodes = newPins;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.mongodb.client.MongoCursor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over the transactionIds already stored. {@link #mightContain} never
+ * returns false for an id that was added, so {@link TransactionWriter} can send rows
+ * it rejects straight to the database and only looks up the rest. Sized for
+ * {@code ingestion.dedup.expected-ids} at {@code ingestion.dedup.false-positive-rate};
+ * beyond that the false positive rate grows, which costs extra lookups but never
+ * correctness. Ids are never removed.
+ */
+@Component
+public class TransactionIdFilter {
+
+    private static final int LOAD_BATCH = 10_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashes;
+
+    public TransactionIdFilter(@Value("${ingestion.dedup.expected-ids:10000000}") long expectedIds,
+                               @Value("${ingestion.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        long n = Math.max(1, expectedIds);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void add(String transactionId) {
+        long h1 = hash(transactionId);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    public boolean mightContain(String transactionId) {
+        long h1 = hash(transactionId);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Adds every stored transactionId; returns how many were read. */
+    public long load() {
+        long loaded = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Transaction.class))
+                .find(new Document("tid", new Document("$type", "string")))
+                .projection(new Document("tid", 1).append("_id", 0))
+                .batchSize(LOAD_BATCH)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                add(cursor.next().getString("tid"));
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    // 64-bit FNV-1a finished with a murmur3 mix; two of these drive the k probes
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Loads the stored transactions into a store that then follows ingestion in memory.
+ * The load reads the rows up to a cutoff taken between batches through the
+ * {@link WriteBarrier}, so a batch is either committed before the cutoff and read by
+ * the load, or has later ids and is passed on by {@link #fresh}. Until a load has
+ * begun, batches are dropped, since the load will read them.
+ */
+public class TransactionLoader {
+
+    private static final int CHUNK = 10_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final WriteBarrier writeBarrier;
+    private final String[] fields;
+
+    private volatile ObjectId cutoff;
+
+    public TransactionLoader(MongoTemplate mongoTemplate, WriteBarrier writeBarrier, String... fields) {
+        this.mongoTemplate = mongoTemplate;
+        this.writeBarrier = writeBarrier;
+        this.fields = fields;
+    }
+
+    /** Streams the stored rows to {@code sink} in chunks, returning the row count. */
+    public long load(Consumer<List<Transaction>> sink) {
+        ObjectId upTo = writeBarrier.betweenWrites(() -> cutoff = new ObjectId());
+        Query query = Query.query(Criteria.where("_id").lte(upTo));
+        query.fields().include(fields);
+
+        List<Transaction> chunk = new ArrayList<>(CHUNK);
+        long rows = 0;
+        try (Stream<Transaction> cursor = mongoTemplate.stream(query, Transaction.class)) {
+            Iterator<Transaction> it = cursor.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK) {
+                    sink.accept(chunk);
+                    rows += chunk.size();
+                    chunk = new ArrayList<>(CHUNK);
+                }
+            }
+        }
+        sink.accept(chunk);
+        return rows + chunk.size();
+    }
+
+    /** The rows of a persisted batch the load did not read. */
+    public List<Transaction> fresh(List<Transaction> batch) {
+        ObjectId upTo = cutoff;
+        if (upTo == null) {
+            return List.of();
+        }
+
+        List<Transaction> fresh = new ArrayList<>(batch.size());
+        for (Transaction txn : batch) {
+            if (txn.getId() == null || !ObjectId.isValid(txn.getId()) || new ObjectId(txn.getId()).compareTo(upTo) > 0) {
+                fresh.add(txn);
+            }
+        }
+        return fresh;
+    }
+}
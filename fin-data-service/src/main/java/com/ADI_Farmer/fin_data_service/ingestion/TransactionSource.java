@@ -0,0 +1,23 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Input to the ingestion pipeline. Reading is split from parsing: {@link #next()} is
+ * called by a single reader thread and only frames raw records, while
+ * {@link #parse(RawRecord)} runs concurrently on the parser threads and must be
+ * stateless.
+ */
+public interface TransactionSource extends Closeable {
+
+    String getName();
+
+    /** Returns the next raw record, or null once the input is exhausted. */
+    RawRecord next() throws IOException;
+
+    /** Maps a raw record to a transaction, throwing with a readable message if the row is invalid. */
+    Transaction parse(RawRecord record) throws Exception;
+}
@@ -0,0 +1,221 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sink stage of the ingestion pipeline: scores the rows about to be stored with the
+ * {@link FraudScorer}, persists them, notifies every {@link IngestListener} of the
+ * rows actually stored and then bumps the {@link DataVersion}. Storing and
+ * notifying happen inside the {@link WriteBarrier}. A listener that fails is logged
+ * and rebuilt from the stored transactions between batches, without holding up the
+ * other listeners.
+ * <p>
+ * In the default {@code upsert} write mode a batch is idempotent on transactionId:
+ * repeats within the batch are dropped, ids the {@link TransactionIdFilter} may have
+ * seen are checked with one lookup per batch, and the remaining rows are written as
+ * {@code $setOnInsert} upserts, so a row stored concurrently by another run is
+ * matched rather than duplicated. The {@code insert} mode bulk-inserts without any
+ * checks, for loads known to be new; a repeated transactionId then fails the run on
+ * the unique index.
+ */
+@Component
+public class TransactionWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionWriter.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private List<IngestListener> listeners;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private TransactionIdFilter knownIds;
+
+    @Autowired
+    private FraudScorer fraudScorer;
+
+    @Autowired
+    private WriteBarrier writeBarrier;
+
+    @Value("${ingestion.write-mode:upsert}")
+    private String writeMode;
+
+    // Listeners that missed a batch, rebuilt once it has been written
+    private final Set<IngestListener> stale = ConcurrentHashMap.newKeySet();
+
+    /** Returns the number of rows stored; the rest of the batch were duplicates. */
+    public int write(List<Transaction> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (Transaction txn : batch) {
+            if (txn.getTransactionId() != null && txn.getTransactionId().isBlank()) {
+                txn.setTransactionId(null); // a blank id is a missing one, not a key shared by every such row
+            }
+        }
+
+        int written = writeBarrier.write(() -> {
+            List<Transaction> stored = "insert".equalsIgnoreCase(writeMode) ? insert(batch) : upsert(batch);
+            fraudScorer.record(stored); // rows that were not stored never count toward the sender windows
+            for (Transaction txn : batch) {
+                if (txn.getTransactionId() != null) {
+                    knownIds.add(txn.getTransactionId());
+                }
+            }
+            if (stored.isEmpty()) {
+                return 0;
+            }
+
+            for (IngestListener listener : listeners) {
+                try {
+                    listener.onBatchPersisted(stored);
+                } catch (RuntimeException e) {
+                    log.error("{} failed to apply {} stored transactions; rebuilding it", nameOf(listener), stored.size(), e);
+                    stale.add(listener);
+                }
+            }
+            dataVersion.increment();
+            return stored.size();
+        });
+        if (!stale.isEmpty()) {
+            rebuildStale();
+        }
+        return written;
+    }
+
+    private void rebuildStale() {
+        writeBarrier.betweenWrites(() -> {
+            boolean rebuilt = false;
+            for (IngestListener listener : stale) {
+                try {
+                    listener.rebuild();
+                    stale.remove(listener);
+                    rebuilt = true;
+                    log.info("Rebuilt {}", nameOf(listener));
+                } catch (RuntimeException e) {
+                    log.error("Rebuilding {} failed; retrying after the next batch", nameOf(listener), e);
+                }
+            }
+            if (rebuilt) {
+                dataVersion.increment();
+            }
+            return null;
+        });
+    }
+
+    private static String nameOf(IngestListener listener) {
+        return ClassUtils.getUserClass(listener).getSimpleName();
+    }
+
+    private List<Transaction> insert(List<Transaction> batch) {
+        fraudScorer.score(batch);
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class)
+                .insert(batch)
+                .execute();
+        return batch;
+    }
+
+    private List<Transaction> upsert(List<Transaction> batch) {
+        Map<String, Transaction> keyed = new LinkedHashMap<>();
+        List<Transaction> unkeyed = new ArrayList<>();
+        for (Transaction txn : batch) {
+            if (txn.getTransactionId() == null) {
+                unkeyed.add(txn);
+            } else {
+                keyed.putIfAbsent(txn.getTransactionId(), txn);
+            }
+        }
+
+        List<String> maybeStored = keyed.keySet().stream().filter(knownIds::mightContain).toList();
+        if (!maybeStored.isEmpty()) {
+            Query query = Query.query(Criteria.where("transactionId").in(maybeStored));
+            mongoTemplate.findDistinct(query, "transactionId", Transaction.class, String.class)
+                    .forEach(keyed::remove);
+        }
+
+        List<Transaction> pending = new ArrayList<>(keyed.values());
+        pending.addAll(unkeyed);
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        fraudScorer.score(pending);
+
+        List<WriteModel<Document>> models = new ArrayList<>(pending.size());
+        for (Transaction txn : pending) {
+            ObjectId id = new ObjectId();
+            txn.setId(id.toHexString());
+            Document document = new Document();
+            mongoTemplate.getConverter().write(txn, document);
+            document.put("_id", id);
+
+            models.add(txn.getTransactionId() == null
+                    ? new InsertOneModel<>(document)
+                    : new UpdateOneModel<>(new Document("tid", txn.getTransactionId()),
+                            new Document("$setOnInsert", document), new UpdateOptions().upsert(true)));
+        }
+
+        BulkWriteResult result;
+        Set<Integer> failed = new HashSet<>();
+        try {
+            result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Transaction.class))
+                    .bulkWrite(models, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // Two runs upserting the same new id race on the unique index; the loser is a duplicate
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                failed.add(error.getIndex());
+            }
+            result = e.getWriteResult();
+        }
+
+        Set<Integer> upserted = new HashSet<>();
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            upserted.add(upsert.getIndex());
+        }
+        List<Transaction> stored = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            boolean inserted = models.get(i) instanceof InsertOneModel ? !failed.contains(i) : upserted.contains(i);
+            if (inserted) {
+                stored.add(pending.get(i));
+            }
+        }
+        return stored;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Lets a store that loads from the database and then follows ingestion pick its
+ * starting point between batches. {@link TransactionWriter} stores and announces each
+ * batch inside {@link #write}; {@link #betweenWrites} waits until no batch is in
+ * flight, so every batch is either committed and announced before it runs or gets its
+ * ids after it.
+ */
+@Component
+public class WriteBarrier {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    <T> T write(Supplier<T> batch) {
+        lock.readLock().lock();
+        try {
+            return batch.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <T> T betweenWrites(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.util.List;
+
+/**
+ * Money loops through an account: simple cycles of at most {@code maxLength}
+ * transfers, each listed as its accounts from the account back to itself.
+ * {@code truncated} is set when the cycle limit or the search budget ran out, so
+ * more cycles may exist.
+ */
+public class AccountCycles {
+    private String account;
+    private int maxLength;
+    private List<List<String>> cycles;
+    private boolean truncated;
+
+    public AccountCycles() {
+    }
+
+    public AccountCycles(String account, int maxLength, List<List<String>> cycles, boolean truncated) {
+        this.account = account;
+        this.maxLength = maxLength;
+        this.cycles = cycles;
+        this.truncated = truncated;
+    }
+
+    // Getters and Setters
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public void setMaxLength(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public List<List<String>> getCycles() {
+        return cycles;
+    }
+
+    public void setCycles(List<List<String>> cycles) {
+        this.cycles = cycles;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+/**
+ * All transactions from one sender account to one receiver account: how many there
+ * were and their amount sum.
+ */
+public class AccountEdge {
+    private String from;
+    private String to;
+    private long transactions;
+    private double totalAmount;
+
+    public AccountEdge() {
+    }
+
+    public AccountEdge(String from, String to, long transactions, double totalAmount) {
+        this.from = from;
+        this.to = to;
+        this.transactions = transactions;
+        this.totalAmount = totalAmount;
+    }
+
+    // Getters and Setters
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(long transactions) {
+        this.transactions = transactions;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The accounts within {@code hops} transfers of an account, each with its distance,
+ * and the edges followed to reach them. {@code truncated} is set when the account
+ * limit cut the expansion short.
+ */
+public class AccountNeighborhood {
+    private String account;
+    private int hops;
+    private Map<String, Integer> accounts;
+    private List<AccountEdge> edges;
+    private boolean truncated;
+
+    public AccountNeighborhood() {
+    }
+
+    public AccountNeighborhood(String account, int hops, Map<String, Integer> accounts,
+                               List<AccountEdge> edges, boolean truncated) {
+        this.account = account;
+        this.hops = hops;
+        this.accounts = accounts;
+        this.edges = edges;
+        this.truncated = truncated;
+    }
+
+    // Getters and Setters
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public int getHops() {
+        return hops;
+    }
+
+    public void setHops(int hops) {
+        this.hops = hops;
+    }
+
+    public Map<String, Integer> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(Map<String, Integer> accounts) {
+        this.accounts = accounts;
+    }
+
+    public List<AccountEdge> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<AccountEdge> edges) {
+        this.edges = edges;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+}
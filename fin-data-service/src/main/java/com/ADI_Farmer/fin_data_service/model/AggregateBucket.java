@@ -0,0 +1,77 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Running count and amount for one group of transactions, e.g. all "TRANSFER"
+ * rows in the "type" dimension. Buckets are incremented as batches are ingested
+ * so the analytics endpoints never have to re-scan the transactions collection.
+ */
+@Document(collection = "analytics_aggregates")
+public class AggregateBucket {
+
+    @Id
+    private String id; // "<dimension>:<key>"
+
+    private String dimension; // "type", "status", "device", "fraud", "flag", "total", "risk"
+    private String key;
+    private long count;
+    private double totalAmount;
+
+    public AggregateBucket() {
+    }
+
+    public AggregateBucket(String dimension, String key, long count, double totalAmount) {
+        this.id = idFor(dimension, key);
+        this.dimension = dimension;
+        this.key = key;
+        this.count = count;
+        this.totalAmount = totalAmount;
+    }
+
+    public static String idFor(String dimension, String key) {
+        return dimension + ":" + key;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
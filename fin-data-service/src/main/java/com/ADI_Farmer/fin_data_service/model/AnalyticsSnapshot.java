@@ -0,0 +1,47 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary and every dashboard chart computed together in one aggregation pass.
+ */
+public class AnalyticsSnapshot {
+    private Map<String, Object> summary;
+    private List<AnalyticsData> charts;
+    private long timestamp;
+
+    public AnalyticsSnapshot() {
+    }
+
+    public AnalyticsSnapshot(Map<String, Object> summary, List<AnalyticsData> charts) {
+        this.summary = summary;
+        this.charts = charts;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    // Getters and Setters
+    public Map<String, Object> getSummary() {
+        return summary;
+    }
+
+    public void setSummary(Map<String, Object> summary) {
+        this.summary = summary;
+    }
+
+    public List<AnalyticsData> getCharts() {
+        return charts;
+    }
+
+    public void setCharts(List<AnalyticsData> charts) {
+        this.charts = charts;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
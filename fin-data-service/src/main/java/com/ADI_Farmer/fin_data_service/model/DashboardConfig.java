@@ -11,7 +11,8 @@ public class DashboardConfig {
 
     private String chartType; // "line", "bar", "pie", "doughnut"
     private String title;
-    private String dataSource; // "amount", "status", "type", "fraud"
+    private String dataSource; // "amount", "status", "type", "fraud", "trend", "risk", "qos", "qos-device",
+                               // "top-senders", "top-receivers", "top-pin-codes", "top-devices"
     private String timeRange; // "1h", "24h", "7d", "30d", "all"
     private int refreshInterval; // in seconds
     private boolean enabled;
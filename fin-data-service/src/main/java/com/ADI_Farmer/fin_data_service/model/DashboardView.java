@@ -0,0 +1,70 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard page needs for its first render: the summary cards, the
+ * active chart configurations and each chart's data keyed by config id. A chart that
+ * could not be built is left out of {@code charts} and has its reason in {@code errors}.
+ */
+public class DashboardView {
+    private Map<String, Object> summary;
+    private List<DashboardConfig> configs;
+    private Map<String, AnalyticsData> charts;
+    private Map<String, String> errors;
+    private long timestamp;
+
+    public DashboardView() {
+    }
+
+    public DashboardView(Map<String, Object> summary, List<DashboardConfig> configs,
+                         Map<String, AnalyticsData> charts, Map<String, String> errors) {
+        this.summary = summary;
+        this.configs = configs;
+        this.charts = charts;
+        this.errors = errors;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    // Getters and Setters
+    public Map<String, Object> getSummary() {
+        return summary;
+    }
+
+    public void setSummary(Map<String, Object> summary) {
+        this.summary = summary;
+    }
+
+    public List<DashboardConfig> getConfigs() {
+        return configs;
+    }
+
+    public void setConfigs(List<DashboardConfig> configs) {
+        this.configs = configs;
+    }
+
+    public Map<String, AnalyticsData> getCharts() {
+        return charts;
+    }
+
+    public void setCharts(Map<String, AnalyticsData> charts) {
+        this.charts = charts;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Stored HyperLogLog registers estimating the distinct values of one metric (e.g.
+ * sender accounts) among the transactions of one UTC day. Day sketches merge into
+ * the estimate for any range of days.
+ */
+@Document(collection = "distinct_sketches")
+public class DistinctSketch {
+
+    @Id
+    private String id; // "<metric>:<day>"
+
+    private String metric;
+    private String day;         // yyyy-MM-dd, or UNKNOWN for rows without an event time
+    private int precision;
+    private byte[] registers;
+
+    public DistinctSketch() {
+    }
+
+    public DistinctSketch(String metric, String day, int precision, byte[] registers) {
+        this.id = idFor(metric, day);
+        this.metric = metric;
+        this.day = day;
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    public static String idFor(String metric, String day) {
+        return metric + ":" + day;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public void setDay(String day) {
+        this.day = day;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+/**
+ * Label with its row count and amount sum, as produced by the server-side
+ * aggregation pipelines in TransactionRepository.
+ */
+public class GroupTotal {
+    private String label;
+    private long count;
+    private double total;
+
+    public GroupTotal() {
+    }
+
+    public GroupTotal(String label, long count, double total) {
+        this.label = label;
+        this.count = count;
+        this.total = total;
+    }
+
+    // Getters and Setters
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.time.Instant;
+
+/**
+ * An ingestion run submitted in the background. The embedded report is updated as
+ * the run progresses, so polling the job shows rows read, written and rejected and
+ * the current throughput.
+ */
+public class IngestJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final String source;
+    private final IngestReport report = new IngestReport();
+    private final Instant submittedAt = Instant.now();
+    private State state = State.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+
+    public IngestJob(String id, String source) {
+        this.id = id;
+        this.source = source;
+    }
+
+    /** Moves a queued job to running; false if it was cancelled while queued. */
+    public synchronized boolean start() {
+        if (state != State.QUEUED) {
+            return false;
+        }
+        state = State.RUNNING;
+        startedAt = Instant.now();
+        report.start();
+        return true;
+    }
+
+    public synchronized void complete() {
+        finish(report.isCancelled() ? State.CANCELLED : State.COMPLETED, null);
+    }
+
+    public synchronized void fail(String error) {
+        finish(State.FAILED, error);
+    }
+
+    /** Requests cancellation; false if the job has already finished. */
+    public synchronized boolean cancel() {
+        if (isFinished()) {
+            return false;
+        }
+        report.cancel();
+        if (state == State.QUEUED) {
+            finish(State.CANCELLED, null);
+        }
+        return true;
+    }
+
+    public synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    private void finish(State state, String error) {
+        this.state = state;
+        this.error = error;
+        this.finishedAt = Instant.now();
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public IngestReport getReport() {
+        return report;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public synchronized Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public synchronized String getError() {
+        return error;
+    }
+}
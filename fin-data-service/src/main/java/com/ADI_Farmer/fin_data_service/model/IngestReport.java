@@ -0,0 +1,109 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one ingestion run. Only counts and a capped sample of rejection
+ * reasons are kept, so the report stays small however large the file is. Safe to
+ * update from the parallel ingestion stages, and readable while the run is still
+ * going, when the rate is computed from the time elapsed so far. The clock starts
+ * when the run does, so time spent waiting in the job queue is not counted.
+ */
+public class IngestReport {
+
+    private static final int MAX_REJECTIONS = 100;
+
+    private long rowsRead;
+    private long rowsAccepted;
+    private long rowsDuplicate;       // already stored, skipped by the idempotent writer
+    private long rowsRejected;
+    private final List<String> rejections = new ArrayList<>();
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private boolean finished;
+    private volatile boolean cancelled;
+
+    private long startNanos;
+    private boolean started;
+
+    /** Starts the clock; later calls are ignored. */
+    public synchronized void start() {
+        if (!started) {
+            startNanos = System.nanoTime();
+            started = true;
+        }
+    }
+
+    public synchronized void read(int rows) {
+        rowsRead += rows;
+    }
+
+    public synchronized void accept(int rows) {
+        rowsAccepted += rows;
+    }
+
+    public synchronized void duplicate(int rows) {
+        rowsDuplicate += rows;
+    }
+
+    public synchronized void reject(long row, String reason) {
+        rowsRejected++;
+        if (rejections.size() < MAX_REJECTIONS) {
+            rejections.add("row " + row + ": " + reason);
+        }
+    }
+
+    public synchronized IngestReport finish() {
+        start(); // a run that never began took no time
+        elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        rowsPerSecond = elapsedMillis > 0 ? rowsAccepted * 1000.0 / elapsedMillis : rowsAccepted;
+        finished = true;
+        return this;
+    }
+
+    /** Asks the run to stop reading; chunks already in flight are dropped unwritten. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Getters
+    public synchronized long getRowsRead() {
+        return rowsRead;
+    }
+
+    public synchronized long getRowsAccepted() {
+        return rowsAccepted;
+    }
+
+    public synchronized long getRowsDuplicate() {
+        return rowsDuplicate;
+    }
+
+    public synchronized long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public synchronized List<String> getRejections() {
+        return new ArrayList<>(rejections);
+    }
+
+    public synchronized long getElapsedMillis() {
+        if (finished || !started) {
+            return elapsedMillis;
+        }
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public synchronized double getRowsPerSecond() {
+        if (finished) {
+            return rowsPerSecond;
+        }
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? rowsAccepted * 1000.0 / elapsed : 0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Latency and bandwidth distributions of one network slice or device over one
+ * time bucket, as sparse log-linear histogram counts keyed by bucket index.
+ * Maintained during ingestion for the network QoS charts.
+ */
+@Document(collection = "qos_histograms")
+@CompoundIndex(name = "resolution_dimension_bucket", def = "{'resolution': 1, 'dimension': 1, 'bucketStart': 1}")
+public class QosHistogram {
+
+    @Id
+    private String id; // "<resolution>:<dimension>:<key>:<bucketStart epoch seconds>"
+
+    private RollupResolution resolution;
+    private String dimension; // "slice" or "device"
+    private String key;
+    private Instant bucketStart;
+    private long count;
+    private double latencySum;
+    private double bandwidthSum;
+    private Map<String, Long> latency = new HashMap<>();
+    private Map<String, Long> bandwidth = new HashMap<>();
+
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt; // set on hour buckets only, so they age out
+
+    public QosHistogram() {
+    }
+
+    public QosHistogram(RollupResolution resolution, String dimension, String key, Instant bucketStart) {
+        this.id = idFor(resolution, dimension, key, bucketStart);
+        this.resolution = resolution;
+        this.dimension = dimension;
+        this.key = key;
+        this.bucketStart = bucketStart;
+    }
+
+    public static String idFor(RollupResolution resolution, String dimension, String key, Instant bucketStart) {
+        return resolution + ":" + dimension + ":" + key + ":" + bucketStart.getEpochSecond();
+    }
+
+    public void add(int latencyMs, int latencyBucket, int bandwidthMbps, int bandwidthBucket) {
+        count++;
+        latencySum += latencyMs;
+        bandwidthSum += bandwidthMbps;
+        latency.merge(String.valueOf(latencyBucket), 1L, Long::sum);
+        bandwidth.merge(String.valueOf(bandwidthBucket), 1L, Long::sum);
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public RollupResolution getResolution() { return resolution; }
+    public void setResolution(RollupResolution resolution) { this.resolution = resolution; }
+
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public Instant getBucketStart() { return bucketStart; }
+    public void setBucketStart(Instant bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public double getLatencySum() { return latencySum; }
+    public void setLatencySum(double latencySum) { this.latencySum = latencySum; }
+
+    public double getBandwidthSum() { return bandwidthSum; }
+    public void setBandwidthSum(double bandwidthSum) { this.bandwidthSum = bandwidthSum; }
+
+    public Map<String, Long> getLatency() { return latency; }
+    public void setLatency(Map<String, Long> latency) { this.latency = latency; }
+
+    public Map<String, Long> getBandwidth() { return bandwidth; }
+    public void setBandwidth(Map<String, Long> bandwidth) { this.bandwidth = bandwidth; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
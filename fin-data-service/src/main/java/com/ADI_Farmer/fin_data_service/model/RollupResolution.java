@@ -0,0 +1,51 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket widths of the trend rollups, finest first.
+ */
+public enum RollupResolution {
+    MINUTE(ChronoUnit.MINUTES, "yyyy-MM-dd HH:mm"),
+    HOUR(ChronoUnit.HOURS, "yyyy-MM-dd HH:00"),
+    DAY(ChronoUnit.DAYS, "yyyy-MM-dd");
+
+    private final ChronoUnit unit;
+    private final DateTimeFormatter labelFormat;
+
+    RollupResolution(ChronoUnit unit, String labelPattern) {
+        this.unit = unit;
+        this.labelFormat = DateTimeFormatter.ofPattern(labelPattern).withZone(ZoneOffset.UTC);
+    }
+
+    public Instant truncate(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    public Duration getWidth() {
+        return unit.getDuration();
+    }
+
+    public String label(Instant bucketStart) {
+        return labelFormat.format(bucketStart);
+    }
+
+    /**
+     * Finest resolution that covers {@code window} in at most {@code maxPoints}
+     * buckets, falling back to DAY for unbounded or very long windows.
+     */
+    public static RollupResolution forWindow(Duration window, int maxPoints) {
+        if (window != null) {
+            for (RollupResolution resolution : values()) {
+                if (window.dividedBy(resolution.getWidth()) <= maxPoints) {
+                    return resolution;
+                }
+            }
+        }
+        return DAY;
+    }
+}
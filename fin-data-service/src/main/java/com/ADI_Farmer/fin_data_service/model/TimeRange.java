@@ -0,0 +1,51 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The look-back windows a dashboard chart can be restricted to, matching the
+ * {@code DashboardConfig.timeRange} codes.
+ */
+public enum TimeRange {
+    LAST_HOUR("1h", Duration.ofHours(1)),
+    LAST_DAY("24h", Duration.ofDays(1)),
+    LAST_WEEK("7d", Duration.ofDays(7)),
+    LAST_MONTH("30d", Duration.ofDays(30)),
+    ALL("all", null);
+
+    private final String code;
+    private final Duration length;
+
+    TimeRange(String code, Duration length) {
+        this.code = code;
+        this.length = length;
+    }
+
+    /** Resolves a config code; null or unknown codes mean the whole history. */
+    public static TimeRange fromCode(String code) {
+        for (TimeRange range : values()) {
+            if (range.code.equalsIgnoreCase(code)) {
+                return range;
+            }
+        }
+        return ALL;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public boolean isAll() {
+        return length == null;
+    }
+
+    /** Start of the window ending at {@code now}, or null for the whole history. */
+    public Instant since(Instant now) {
+        return length == null ? null : now.minus(length);
+    }
+}
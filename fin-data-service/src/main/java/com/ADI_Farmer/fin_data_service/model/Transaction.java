@@ -1,29 +1,68 @@
 package com.ADI_Farmer.fin_data_service.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
+import java.time.Instant;
+import java.util.List;
+
+// Persisted under short field names (see SchemaMigrationService for the mapping
+// from the original layout). Compound index keys are raw document fields, so they use
+// the short names. Equality fields first, then the _id sort used by keyset pagination
+// (or the time range). The unique transactionId index is built by
+// SchemaMigrationService once any existing duplicates are gone.
 @Document(collection = "transactions")
+@CompoundIndex(name = "st_typ_id", def = "{'st': 1, 'typ': 1, '_id': 1}")
+@CompoundIndex(name = "typ_id", def = "{'typ': 1, '_id': 1}")
+@CompoundIndex(name = "dev_ff_id", def = "{'dev': 1, 'ff': 1, '_id': 1}")
+@CompoundIndex(name = "snd_et", def = "{'snd': 1, 'et': 1}")
+@CompoundIndex(name = "rcv_et", def = "{'rcv': 1, 'et': 1}")
 public class Transaction {
 
     @Id
     private String id;
 
+    @Field("tid")
     private String transactionId;
+    @Field("snd")
     private String senderAccountId;
+    @Field("rcv")
     private String receiverAccountId;
+    @Indexed
+    @Field("amt")
     private double amount;
+    @Field("typ")
     private String type;
-    private String timestamp;         // You can use LocalDateTime if you parse it properly
+    @Field("ts")
+    private String timestamp;         // as uploaded; parsed into eventTime at ingest
+    @Indexed
+    @Field("et")
+    private Instant eventTime;
+    @Field("st")
     private String status;
+    @Field("ff")
     private boolean fraudFlag;
-    private String latitude;
-    private String longitude;
+    @Field("lat")
+    private Double latitude;
+    @Field("lon")
+    private Double longitude;
+    @Field("dev")
     private String deviceUsed;
+    @Field("slc")
     private String networkSliceId;
+    @Field("lcy")
     private int latency;              // in ms
+    @Field("bw")
     private int bandwidth;            // in Mbps
+    @Field("pin")
     private int pinCode;
+    @Field("rsk")
+    private Integer riskScore;        // 0-100 from FraudScorer; null if ingested before scoring existed
+    @Field("rr")
+    private List<String> riskRules;   // names of the fraud rules that fired
 
     // Getters and Setters
 
@@ -48,17 +87,20 @@ public class Transaction {
     public String getTimestamp() { return timestamp; }
     public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
 
+    public Instant getEventTime() { return eventTime; }
+    public void setEventTime(Instant eventTime) { this.eventTime = eventTime; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
     public boolean isFraudFlag() { return fraudFlag; }
     public void setFraudFlag(boolean fraudFlag) { this.fraudFlag = fraudFlag; }
 
-    public String getLatitude() { return latitude; }
-    public void setLatitude(String latitude) { this.latitude = latitude; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
 
-    public String getLongitude() { return longitude; }
-    public void setLongitude(String longitude) { this.longitude = longitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
 
     public String getDeviceUsed() { return deviceUsed; }
     public void setDeviceUsed(String deviceUsed) { this.deviceUsed = deviceUsed; }
@@ -74,4 +116,10 @@ public class Transaction {
 
     public int getPinCode() { return pinCode; }
     public void setPinCode(int pinCode) { this.pinCode = pinCode; }
+
+    public Integer getRiskScore() { return riskScore; }
+    public void setRiskScore(Integer riskScore) { this.riskScore = riskScore; }
+
+    public List<String> getRiskRules() { return riskRules; }
+    public void setRiskRules(List<String> riskRules) { this.riskRules = riskRules; }
 }
@@ -0,0 +1,50 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+/**
+ * Optional criteria for listing transactions, bound from request parameters. Every
+ * field that is set narrows the result; unset fields are ignored. {@code from} is
+ * inclusive and {@code to} exclusive, both ISO-8601 timestamps.
+ */
+public class TransactionFilter {
+    private String status;
+    private String type;
+    private String deviceUsed;
+    private Boolean fraudFlag;
+    private Double minAmount;
+    private Double maxAmount;
+    private String senderAccountId;
+    private String receiverAccountId;
+    private String from;
+    private String to;
+
+    // Getters and Setters
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getDeviceUsed() { return deviceUsed; }
+    public void setDeviceUsed(String deviceUsed) { this.deviceUsed = deviceUsed; }
+
+    public Boolean getFraudFlag() { return fraudFlag; }
+    public void setFraudFlag(Boolean fraudFlag) { this.fraudFlag = fraudFlag; }
+
+    public Double getMinAmount() { return minAmount; }
+    public void setMinAmount(Double minAmount) { this.minAmount = minAmount; }
+
+    public Double getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(Double maxAmount) { this.maxAmount = maxAmount; }
+
+    public String getSenderAccountId() { return senderAccountId; }
+    public void setSenderAccountId(String senderAccountId) { this.senderAccountId = senderAccountId; }
+
+    public String getReceiverAccountId() { return receiverAccountId; }
+    public void setReceiverAccountId(String receiverAccountId) { this.receiverAccountId = receiverAccountId; }
+
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+}
@@ -0,0 +1,37 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import java.util.List;
+
+/**
+ * One keyset-paginated slice of transactions. Pass {@code nextToken} back as
+ * {@code after} to get the following page; it is null on the last page.
+ */
+public class TransactionPage {
+    private List<Transaction> items;
+    private String nextToken;
+
+    public TransactionPage() {
+    }
+
+    public TransactionPage(List<Transaction> items, String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+    }
+
+    // Getters and Setters
+    public List<Transaction> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Transaction> items) {
+        this.items = items;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ADI_Farmer.fin_data_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Pre-aggregated amount statistics for one time bucket at one resolution,
+ * maintained during ingestion for the trend charts.
+ */
+@Document(collection = "trend_rollups")
+@CompoundIndex(name = "resolution_bucket", def = "{'resolution': 1, 'bucketStart': 1}")
+public class TrendRollup {
+
+    @Id
+    private String id; // "<resolution>:<bucketStart epoch seconds>"
+
+    private RollupResolution resolution;
+    private Instant bucketStart;
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+    private long fraudCount;
+
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt; // set on minute buckets only, so they age out
+
+    public TrendRollup() {
+    }
+
+    public TrendRollup(RollupResolution resolution, Instant bucketStart) {
+        this.id = idFor(resolution, bucketStart);
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    public static String idFor(RollupResolution resolution, Instant bucketStart) {
+        return resolution + ":" + bucketStart.getEpochSecond();
+    }
+
+    public void add(double amount, boolean fraud) {
+        count++;
+        sum += amount;
+        min = Math.min(min, amount);
+        max = Math.max(max, amount);
+        if (fraud) {
+            fraudCount++;
+        }
+    }
+
+    public void merge(TrendRollup other) {
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        fraudCount += other.fraudCount;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public RollupResolution getResolution() { return resolution; }
+    public void setResolution(RollupResolution resolution) { this.resolution = resolution; }
+
+    public Instant getBucketStart() { return bucketStart; }
+    public void setBucketStart(Instant bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public double getSum() { return sum; }
+    public void setSum(double sum) { this.sum = sum; }
+
+    public double getMin() { return min; }
+    public void setMin(double min) { this.min = min; }
+
+    public double getMax() { return max; }
+    public void setMax(double max) { this.max = max; }
+
+    public long getFraudCount() { return fraudCount; }
+    public void setFraudCount(long fraudCount) { this.fraudCount = fraudCount; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
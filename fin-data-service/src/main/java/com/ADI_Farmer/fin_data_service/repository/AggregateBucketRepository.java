@@ -0,0 +1,7 @@
+package com.ADI_Farmer.fin_data_service.repository;
+
+import com.ADI_Farmer.fin_data_service.model.AggregateBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface AggregateBucketRepository extends MongoRepository<AggregateBucket, String> {
+}
@@ -0,0 +1,15 @@
+package com.ADI_Farmer.fin_data_service.repository;
+
+import com.ADI_Farmer.fin_data_service.model.QosHistogram;
+import com.ADI_Farmer.fin_data_service.model.RollupResolution;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface QosHistogramRepository extends MongoRepository<QosHistogram, String> {
+    List<QosHistogram> findByResolutionAndDimension(RollupResolution resolution, String dimension);
+
+    List<QosHistogram> findByResolutionAndDimensionAndBucketStartGreaterThanEqual(
+            RollupResolution resolution, String dimension, Instant from);
+}
@@ -5,7 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface TransactionRepository extends MongoRepository<Transaction, String> {
+public interface TransactionRepository extends MongoRepository<Transaction, String>, TransactionRepositoryCustom {
     List<Transaction> findByStatus(String status);
     List<Transaction> findByType(String type);
 }
\ No newline at end of file
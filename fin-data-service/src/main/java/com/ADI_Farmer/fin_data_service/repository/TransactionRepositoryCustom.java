@@ -0,0 +1,30 @@
+package com.ADI_Farmer.fin_data_service.repository;
+
+import com.ADI_Farmer.fin_data_service.model.GroupTotal;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+/**
+ * Aggregation-pipeline queries that group on the server and return only
+ * label/count/total rows instead of whole Transaction documents.
+ */
+public interface TransactionRepositoryCustom {
+    List<GroupTotal> totalsByType();
+
+    List<GroupTotal> totalsByStatus();
+
+    List<GroupTotal> totalsByDevice();
+
+    List<GroupTotal> totalsByFraud();
+
+    List<GroupTotal> totalsByFraudFlag();
+
+    List<GroupTotal> totalsByRiskBand();
+
+    GroupTotal overallTotal();
+
+    /** Query planner output for a typed query against the transactions collection. */
+    Document explain(Query query);
+}
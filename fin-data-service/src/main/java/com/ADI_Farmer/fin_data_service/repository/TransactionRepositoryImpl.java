@@ -0,0 +1,124 @@
+package com.ADI_Farmer.fin_data_service.repository;
+
+import com.ADI_Farmer.fin_data_service.model.GroupTotal;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators.Switch.CaseOperator;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<GroupTotal> totalsByType() {
+        return groupBy(keyOf("type"));
+    }
+
+    @Override
+    public List<GroupTotal> totalsByStatus() {
+        return groupBy(keyOf("status"));
+    }
+
+    @Override
+    public List<GroupTotal> totalsByDevice() {
+        return groupBy(keyOf("deviceUsed"));
+    }
+
+    @Override
+    public List<GroupTotal> totalsByFraud() {
+        // Same rule as the fraud chart: fraud-flagged ATM transactions vs. everything else
+        return groupBy(ConditionalOperators
+                .when(BooleanOperators.And.and(
+                        ComparisonOperators.valueOf("fraudFlag").equalToValue(true),
+                        ComparisonOperators.valueOf(StringOperators.valueOf("deviceUsed").toUpper())
+                                .equalToValue("ATM")))
+                .then("Fraudulent")
+                .otherwise("Legitimate"));
+    }
+
+    @Override
+    public List<GroupTotal> totalsByFraudFlag() {
+        return groupBy(ConditionalOperators.when(ComparisonOperators.valueOf("fraudFlag").equalToValue(true))
+                .then("true")
+                .otherwise("false"));
+    }
+
+    @Override
+    public List<GroupTotal> totalsByRiskBand() {
+        // Same bands as AnalyticsAccumulator.riskBandOf; unscored rows sort last
+        AggregationExpression score = ConditionalOperators.ifNull("riskScore").then(-1);
+        return groupBy(ConditionalOperators.switchCases(
+                        CaseOperator.when(ComparisonOperators.valueOf(score).lessThanValue(0)).then("Unscored"),
+                        CaseOperator.when(ComparisonOperators.valueOf(score).lessThanValue(20)).then("0-19"),
+                        CaseOperator.when(ComparisonOperators.valueOf(score).lessThanValue(40)).then("20-39"),
+                        CaseOperator.when(ComparisonOperators.valueOf(score).lessThanValue(60)).then("40-59"),
+                        CaseOperator.when(ComparisonOperators.valueOf(score).lessThanValue(80)).then("60-79"))
+                .defaultTo("80-100"));
+    }
+
+    @Override
+    public GroupTotal overallTotal() {
+        TypedAggregation<Transaction> aggregation = Aggregation.newAggregation(Transaction.class,
+                Aggregation.group().count().as("count").sum("amount").as("total"),
+                Aggregation.project("count", "total").andExclude("_id"));
+
+        GroupTotal total = mongoTemplate.aggregate(aggregation, GroupTotal.class).getUniqueMappedResult();
+        return total != null ? total : new GroupTotal("all", 0, 0);
+    }
+
+    @Override
+    public Document explain(Query query) {
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Transaction.class);
+        Document filter = mapper.getMappedObject(query.getQueryObject(), entity);
+        Document sort = mapper.getMappedSort(query.getSortObject(), entity);
+
+        return mongoTemplate.execute(Transaction.class, collection -> {
+            FindIterable<Document> find = collection.find(filter).sort(sort);
+            if (query.getLimit() > 0) {
+                find.limit(query.getLimit());
+            }
+            return find.explain(ExplainVerbosity.EXECUTION_STATS);
+        });
+    }
+
+    // Missing or blank values are unknown, as in AnalyticsAccumulator.keyOf
+    private static AggregationExpression keyOf(String field) {
+        AggregationExpression value = ConditionalOperators.ifNull(field).then("");
+        return ConditionalOperators
+                .when(ComparisonOperators.valueOf(StringOperators.valueOf(value).trim()).equalToValue(""))
+                .then(UNKNOWN)
+                .otherwiseValueOf(field);
+    }
+
+    private List<GroupTotal> groupBy(AggregationExpression key) {
+        TypedAggregation<Transaction> aggregation = Aggregation.newAggregation(Transaction.class,
+                Aggregation.project("amount").and(key).as("label"),
+                Aggregation.group("label").count().as("count").sum("amount").as("total"),
+                Aggregation.project("count", "total").and("label").previousOperation(),
+                Aggregation.sort(Sort.Direction.ASC, "label"));
+
+        return mongoTemplate.aggregate(aggregation, GroupTotal.class).getMappedResults();
+    }
+}
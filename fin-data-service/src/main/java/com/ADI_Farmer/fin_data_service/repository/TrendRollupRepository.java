@@ -0,0 +1,15 @@
+package com.ADI_Farmer.fin_data_service.repository;
+
+import com.ADI_Farmer.fin_data_service.model.RollupResolution;
+import com.ADI_Farmer.fin_data_service.model.TrendRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TrendRollupRepository extends MongoRepository<TrendRollup, String> {
+    List<TrendRollup> findByResolutionOrderByBucketStart(RollupResolution resolution);
+
+    List<TrendRollup> findByResolutionAndBucketStartGreaterThanEqualOrderByBucketStart(
+            RollupResolution resolution, Instant from);
+}
@@ -0,0 +1,407 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.AccountCycles;
+import com.ADI_Farmer.fin_data_service.model.AccountEdge;
+import com.ADI_Farmer.fin_data_service.model.AccountNeighborhood;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sender→receiver graph of the stored transactions. Accounts are mapped to dense int
+ * ids; each (sender, receiver) pair is one edge whose endpoints, transaction count and
+ * amount sum sit in parallel primitive arrays, found by an open-addressing index on
+ * the packed id pair, and every account keeps int arrays of its outgoing and incoming
+ * edge ids. A query only touches the accounts it visits, however many edges the graph
+ * holds. Updates take a write lock, queries a read lock.
+ */
+public class AccountGraph {
+
+    public enum Direction {
+        OUT, IN, BOTH;
+
+        public static Direction fromCode(String code) {
+            try {
+                return valueOf(code.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("direction must be out, in or both: " + code);
+            }
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int[] NO_EDGES = new int[0];
+    private static final long EMPTY = -1L;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> accounts = new ArrayList<>();
+    private int[][] outEdges = new int[INITIAL_CAPACITY][];
+    private int[] outDegrees = new int[INITIAL_CAPACITY];
+    private int[][] inEdges = new int[INITIAL_CAPACITY][];
+    private int[] inDegrees = new int[INITIAL_CAPACITY];
+
+    private int[] edgeFrom = new int[INITIAL_CAPACITY];
+    private int[] edgeTo = new int[INITIAL_CAPACITY];
+    private long[] edgeCounts = new long[INITIAL_CAPACITY];
+    private double[] edgeAmounts = new double[INITIAL_CAPACITY];
+    private int edges;
+
+    // Edge id by (from << 32 | to), linear probing, kept at most half full
+    private long[] indexKeys = emptyKeys(INITIAL_CAPACITY * 2);
+    private int[] indexEdges = new int[INITIAL_CAPACITY * 2];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Adds every transaction with both accounts set to its sender→receiver edge. */
+    public void add(List<Transaction> batch) {
+        lock.writeLock().lock();
+        try {
+            for (Transaction txn : batch) {
+                if (isBlank(txn.getSenderAccountId()) || isBlank(txn.getReceiverAccountId())) {
+                    continue;
+                }
+                int from = idOf(txn.getSenderAccountId());
+                int to = idOf(txn.getReceiverAccountId());
+                int edge = edgeOf(from, to);
+                edgeCounts[edge]++;
+                edgeAmounts[edge] += txn.getAmount();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int accountCount() {
+        lock.readLock().lock();
+        try {
+            return accounts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int edgeCount() {
+        lock.readLock().lock();
+        try {
+            return edges;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code k} heaviest edges of an account in the given direction, ranked by
+     * transaction count or by amount; empty when the account is unknown.
+     */
+    public Optional<List<AccountEdge>> topCounterparties(String account, int k, Direction direction, boolean byAmount) {
+        lock.readLock().lock();
+        try {
+            Integer id = ids.get(account);
+            if (id == null) {
+                return Optional.empty();
+            }
+
+            Comparator<Integer> weight = byAmount
+                    ? Comparator.comparingDouble(edge -> edgeAmounts[edge])
+                    : Comparator.comparingLong(edge -> edgeCounts[edge]);
+            PriorityQueue<Integer> top = new PriorityQueue<>(k + 1, weight);
+            if (direction != Direction.IN) {
+                offerAll(top, k, outEdges[id], outDegrees[id]);
+            }
+            if (direction != Direction.OUT) {
+                offerAll(top, k, inEdges[id], inDegrees[id]);
+            }
+
+            List<AccountEdge> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                result.add(edge(top.poll()));
+            }
+            Collections.reverse(result);
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Breadth-first expansion up to {@code hops} transfers away, stopping at
+     * {@code maxAccounts} accounts; empty when the account is unknown.
+     */
+    public Optional<AccountNeighborhood> neighborhood(String account, int hops, int maxAccounts, Direction direction) {
+        lock.readLock().lock();
+        try {
+            Integer id = ids.get(account);
+            if (id == null) {
+                return Optional.empty();
+            }
+
+            Map<Integer, Integer> depths = new LinkedHashMap<>();
+            depths.put(id, 0);
+            Set<Integer> followed = new HashSet<>();
+            List<AccountEdge> edgeList = new ArrayList<>();
+            boolean truncated = false;
+
+            ArrayDeque<Integer> frontier = new ArrayDeque<>(List.of(id));
+            for (int hop = 1; hop <= hops && !frontier.isEmpty(); hop++) {
+                ArrayDeque<Integer> next = new ArrayDeque<>();
+                for (int node : frontier) {
+                    for (int side = 0; side < 2; side++) {
+                        boolean outgoing = side == 0;
+                        if (outgoing ? direction == Direction.IN : direction == Direction.OUT) {
+                            continue;
+                        }
+                        int[] adjacent = outgoing ? outEdges[node] : inEdges[node];
+                        int degree = outgoing ? outDegrees[node] : inDegrees[node];
+                        for (int i = 0; i < degree; i++) {
+                            int edge = adjacent[i];
+                            int other = outgoing ? edgeTo[edge] : edgeFrom[edge];
+                            if (!depths.containsKey(other)) {
+                                if (depths.size() >= maxAccounts) {
+                                    truncated = true;
+                                    continue;
+                                }
+                                depths.put(other, hop);
+                                next.add(other);
+                            }
+                            if (followed.add(edge)) {
+                                edgeList.add(edge(edge));
+                            }
+                        }
+                    }
+                }
+                frontier = next;
+            }
+
+            Map<String, Integer> reached = new LinkedHashMap<>();
+            depths.forEach((node, depth) -> reached.put(accounts.get(node), depth));
+            return Optional.of(new AccountNeighborhood(account, hops, reached, edgeList, truncated));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Simple cycles of at most {@code maxLength} transfers through the account, found
+     * by a depth-first search over outgoing edges that only enters accounts close
+     * enough to get back in the remaining length. The search stops after
+     * {@code maxCycles} cycles or {@code maxSteps} edge visits; empty when the account
+     * is unknown.
+     */
+    public Optional<AccountCycles> cycles(String account, int maxLength, int maxCycles, long maxSteps) {
+        lock.readLock().lock();
+        try {
+            Integer id = ids.get(account);
+            if (id == null) {
+                return Optional.empty();
+            }
+
+            CycleSearch search = new CycleSearch(id, maxLength, maxCycles, maxSteps);
+            search.distancesToStart();
+            if (!search.stopped) {
+                search.extend(0);
+            }
+            return Optional.of(new AccountCycles(account, maxLength, search.cycles, search.stopped));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private final class CycleSearch {
+        final int start;
+        final int maxLength;
+        final int maxCycles;
+        final long maxSteps;
+        final int[] path;
+        final Set<Integer> onPath = new HashSet<>();
+        final Map<Integer, Integer> toStart = new HashMap<>(); // fewest transfers back to start
+        final List<List<String>> cycles = new ArrayList<>();
+        long steps;
+        boolean stopped;
+
+        CycleSearch(int start, int maxLength, int maxCycles, long maxSteps) {
+            this.start = start;
+            this.maxLength = maxLength;
+            this.maxCycles = maxCycles;
+            this.maxSteps = maxSteps;
+            this.path = new int[maxLength];
+            path[0] = start;
+            onPath.add(start);
+        }
+
+        // Backward breadth-first search from the start over incoming edges
+        void distancesToStart() {
+            toStart.put(start, 0);
+            ArrayDeque<Integer> frontier = new ArrayDeque<>(List.of(start));
+            for (int distance = 1; distance < maxLength && !frontier.isEmpty(); distance++) {
+                ArrayDeque<Integer> next = new ArrayDeque<>();
+                for (int node : frontier) {
+                    for (int i = 0; i < inDegrees[node]; i++) {
+                        if (++steps > maxSteps) {
+                            stopped = true;
+                            return;
+                        }
+                        int from = edgeFrom[inEdges[node][i]];
+                        if (toStart.putIfAbsent(from, distance) == null) {
+                            next.add(from);
+                        }
+                    }
+                }
+                frontier = next;
+            }
+        }
+
+        void extend(int depth) {
+            int node = path[depth];
+            for (int i = 0; i < outDegrees[node] && !stopped; i++) {
+                if (++steps > maxSteps) {
+                    stopped = true;
+                    return;
+                }
+                int next = edgeTo[outEdges[node][i]];
+                if (next == start) {
+                    record(depth);
+                    continue;
+                }
+                Integer back = toStart.get(next);
+                if (back == null || depth + 1 + back > maxLength || onPath.contains(next)) {
+                    continue;
+                }
+                path[depth + 1] = next;
+                onPath.add(next);
+                extend(depth + 1);
+                onPath.remove(next);
+            }
+        }
+
+        void record(int depth) {
+            List<String> cycle = new ArrayList<>(depth + 2);
+            for (int i = 0; i <= depth; i++) {
+                cycle.add(accounts.get(path[i]));
+            }
+            cycle.add(accounts.get(start));
+            cycles.add(cycle);
+            if (cycles.size() >= maxCycles) {
+                stopped = true;
+            }
+        }
+    }
+
+    private void offerAll(PriorityQueue<Integer> top, int k, int[] adjacent, int degree) {
+        for (int i = 0; i < degree; i++) {
+            top.offer(adjacent[i]);
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+    }
+
+    private AccountEdge edge(int edge) {
+        return new AccountEdge(accounts.get(edgeFrom[edge]), accounts.get(edgeTo[edge]),
+                edgeCounts[edge], edgeAmounts[edge]);
+    }
+
+    private int idOf(String account) {
+        Integer id = ids.get(account);
+        if (id == null) {
+            id = accounts.size();
+            ids.put(account, id);
+            accounts.add(account);
+            if (id == outEdges.length) {
+                int capacity = id * 2;
+                outEdges = Arrays.copyOf(outEdges, capacity);
+                outDegrees = Arrays.copyOf(outDegrees, capacity);
+                inEdges = Arrays.copyOf(inEdges, capacity);
+                inDegrees = Arrays.copyOf(inDegrees, capacity);
+            }
+            outEdges[id] = NO_EDGES;
+            inEdges[id] = NO_EDGES;
+        }
+        return id;
+    }
+
+    // Finds the from→to edge, creating it when new
+    private int edgeOf(int from, int to) {
+        long key = (long) from << 32 | to;
+        int slot = slotOf(indexKeys, key);
+        if (indexKeys[slot] == key) {
+            return indexEdges[slot];
+        }
+
+        int edge = edges++;
+        if (edge == edgeFrom.length) {
+            int capacity = edge * 2;
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeCounts = Arrays.copyOf(edgeCounts, capacity);
+            edgeAmounts = Arrays.copyOf(edgeAmounts, capacity);
+        }
+        edgeFrom[edge] = from;
+        edgeTo[edge] = to;
+        outEdges[from] = append(outEdges[from], outDegrees[from]++, edge);
+        inEdges[to] = append(inEdges[to], inDegrees[to]++, edge);
+
+        indexKeys[slot] = key;
+        indexEdges[slot] = edge;
+        if (edges * 2 > indexKeys.length) {
+            rehash();
+        }
+        return edge;
+    }
+
+    private void rehash() {
+        long[] keys = emptyKeys(indexKeys.length * 2);
+        int[] values = new int[keys.length];
+        for (int edge = 0; edge < edges; edge++) {
+            long key = (long) edgeFrom[edge] << 32 | edgeTo[edge];
+            int slot = slotOf(keys, key);
+            keys[slot] = key;
+            values[slot] = edge;
+        }
+        indexKeys = keys;
+        indexEdges = values;
+    }
+
+    // The slot holding the key, or the empty slot where it belongs
+    private static int slotOf(long[] keys, long key) {
+        int mask = keys.length - 1;
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (keys[slot] != key && keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int[] append(int[] array, int size, int value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.max(4, size * 2));
+        }
+        array[size] = value;
+        return array;
+    }
+
+    private static long[] emptyKeys(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
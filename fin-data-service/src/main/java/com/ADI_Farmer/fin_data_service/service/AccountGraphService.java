@@ -0,0 +1,123 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestListener;
+import com.ADI_Farmer.fin_data_service.ingestion.TransactionLoader;
+import com.ADI_Farmer.fin_data_service.ingestion.WriteBarrier;
+import com.ADI_Farmer.fin_data_service.model.AccountCycles;
+import com.ADI_Farmer.fin_data_service.model.AccountEdge;
+import com.ADI_Farmer.fin_data_service.model.AccountNeighborhood;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Account investigations over the in-memory {@link AccountGraph}
+ * ({@code analytics.graph.enabled}): top counterparties, k-hop neighborhoods and
+ * money loops. The graph is loaded from the stored transactions at startup and
+ * extended with every persisted batch. Query sizes are bounded here, and an unknown
+ * account comes back empty.
+ */
+@Service
+public class AccountGraphService implements IngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountGraphService.class);
+
+    public static final int MAX_COUNTERPARTIES = 1000;
+    public static final int MAX_HOPS = 4;
+    public static final int MAX_ACCOUNTS = 10_000;
+    public static final int MAX_CYCLE_LENGTH = 8;
+    public static final int MAX_CYCLES = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WriteBarrier writeBarrier;
+
+    @Value("${analytics.graph.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analytics.graph.max-steps:2000000}")
+    private long maxSteps;
+
+    private volatile AccountGraph graph = new AccountGraph();
+
+    private TransactionLoader loader;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void createLoader() {
+        loader = new TransactionLoader(mongoTemplate, writeBarrier, "senderAccountId", "receiverAccountId", "amount");
+    }
+
+    @Override
+    public void onBatchPersisted(List<Transaction> batch) {
+        graph.add(loader.fresh(batch));
+    }
+
+    /** The account's heaviest edges, by transaction count or by amount ({@code by=amount}). */
+    public Optional<List<AccountEdge>> getTopCounterparties(String account, int k, String direction, String by) {
+        checkReady();
+        if (!"count".equalsIgnoreCase(by) && !"amount".equalsIgnoreCase(by)) {
+            throw new IllegalArgumentException("by must be count or amount: " + by);
+        }
+        return graph.topCounterparties(account, within("k", k, MAX_COUNTERPARTIES),
+                AccountGraph.Direction.fromCode(direction), "amount".equalsIgnoreCase(by));
+    }
+
+    public Optional<AccountNeighborhood> getNeighborhood(String account, int hops, int limit, String direction) {
+        checkReady();
+        return graph.neighborhood(account, within("hops", hops, MAX_HOPS), within("limit", limit, MAX_ACCOUNTS),
+                AccountGraph.Direction.fromCode(direction));
+    }
+
+    public Optional<AccountCycles> getCycles(String account, int maxLength, int limit) {
+        checkReady();
+        return graph.cycles(account, within("maxLength", maxLength, MAX_CYCLE_LENGTH),
+                within("limit", limit, MAX_CYCLES), maxSteps);
+    }
+
+    public void initializeGraph() {
+        if (!enabled) {
+            return;
+        }
+
+        loader.load(graph::add);
+        ready = true;
+        log.info("Loaded {} accounts and {} sender-receiver edges into the account graph",
+                graph.accountCount(), graph.edgeCount());
+    }
+
+    @Override
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        AccountGraph fresh = new AccountGraph();
+        loader.load(fresh::add);
+        graph = fresh;
+    }
+
+    private void checkReady() {
+        if (!ready) {
+            throw new StoreUnavailableException(enabled
+                    ? "The account graph is still loading"
+                    : "The account graph is disabled (analytics.graph.enabled)");
+        }
+    }
+
+    private static int within(String name, int value, int max) {
+        if (value < 1 || value > max) {
+            throw new IllegalArgumentException(name + " must be between 1 and " + max + ": " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,155 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestListener;
+import com.ADI_Farmer.fin_data_service.model.AggregateBucket;
+import com.ADI_Farmer.fin_data_service.model.GroupTotal;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.ADI_Farmer.fin_data_service.repository.AggregateBucketRepository;
+import com.ADI_Farmer.fin_data_service.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the materialized analytics aggregates. Every persisted batch is folded
+ * into per-group running counts and sums, so reading a chart costs O(groups)
+ * instead of O(transactions).
+ */
+@Service
+public class AggregateService implements IngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AggregateService.class);
+
+    public static final String TYPE = "type";
+    public static final String STATUS = "status";
+    public static final String DEVICE = "device";
+    public static final String FRAUD = "fraud"; // fraud-flagged ATM transactions vs. the rest
+    public static final String FLAG = "flag";   // raw fraudFlag
+    public static final String TOTAL = "total";
+    public static final String RISK = "risk";   // FraudScorer score bands
+
+    public static final String TOTAL_KEY = "all";
+    public static final String FRAUDULENT = "Fraudulent";
+    public static final String LEGITIMATE = "Legitimate";
+    public static final String UNKNOWN = "UNKNOWN";
+    public static final String UNSCORED = "Unscored";
+
+    @Autowired
+    private AggregateBucketRepository aggregateRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Folds a freshly persisted batch into the aggregates: one fused pass over the
+     * batch computes the deltas, then one unordered bulk write applies them as $inc
+     * upserts.
+     */
+    @Override
+    public void onBatchPersisted(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        AnalyticsAccumulator deltas = new AnalyticsAccumulator();
+        for (Transaction txn : transactions) {
+            deltas.accept(txn);
+        }
+        increment(deltas.getBuckets());
+    }
+
+    /**
+     * Streams the stored buckets of the given dimensions (all of them when none are
+     * given) through a single cursor into one accumulator.
+     */
+    public AnalyticsAccumulator load(String... dimensions) {
+        Query query = dimensions.length == 0
+                ? new Query()
+                : Query.query(Criteria.where("dimension").in((Object[]) dimensions));
+
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        try (Stream<AggregateBucket> buckets = mongoTemplate.stream(query, AggregateBucket.class)) {
+            buckets.forEach(accumulator::accept);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Rebuilds the aggregates from the transactions collection when they are missing,
+     * e.g. on the first start after upgrading an existing database. The grouping runs
+     * as aggregation pipelines inside MongoDB, so only the group rows come back.
+     */
+    public void initializeAggregates() {
+        if (transactionRepository.count() == 0) {
+            return;
+        }
+        if (aggregateRepository.count() > 0) {
+            initializeRiskBands();
+            // The trend now comes from the rollups; older aggregates still hold day buckets
+            mongoTemplate.remove(Query.query(Criteria.where("dimension").is("day")), AggregateBucket.class);
+            return;
+        }
+        rebuild();
+    }
+
+    /** Replaces the aggregates with ones grouped from the transactions collection. */
+    @Override
+    public void rebuild() {
+        aggregateRepository.deleteAll();
+        List<AggregateBucket> buckets = new ArrayList<>();
+        addAll(buckets, TYPE, transactionRepository.totalsByType());
+        addAll(buckets, STATUS, transactionRepository.totalsByStatus());
+        addAll(buckets, DEVICE, transactionRepository.totalsByDevice());
+        addAll(buckets, FRAUD, transactionRepository.totalsByFraud());
+        addAll(buckets, FLAG, transactionRepository.totalsByFraudFlag());
+        addAll(buckets, RISK, transactionRepository.totalsByRiskBand());
+
+        GroupTotal overall = transactionRepository.overallTotal();
+        buckets.add(new AggregateBucket(TOTAL, TOTAL_KEY, overall.getCount(), overall.getTotal()));
+
+        aggregateRepository.saveAll(buckets);
+        log.info("Rebuilt {} analytics aggregates", buckets.size());
+    }
+
+    // Aggregates built before risk scoring existed lack the dimension
+    private void initializeRiskBands() {
+        if (mongoTemplate.exists(Query.query(Criteria.where("dimension").is(RISK)), AggregateBucket.class)) {
+            return;
+        }
+        List<AggregateBucket> buckets = new ArrayList<>();
+        addAll(buckets, RISK, transactionRepository.totalsByRiskBand());
+        aggregateRepository.saveAll(buckets);
+    }
+
+    private void addAll(List<AggregateBucket> buckets, String dimension, List<GroupTotal> totals) {
+        for (GroupTotal total : totals) {
+            buckets.add(new AggregateBucket(dimension, total.getLabel(), total.getCount(), total.getTotal()));
+        }
+    }
+
+    private void increment(Iterable<AggregateBucket> deltas) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AggregateBucket.class);
+        for (AggregateBucket delta : deltas) {
+            Update update = new Update()
+                    .setOnInsert("dimension", delta.getDimension())
+                    .setOnInsert("key", delta.getKey())
+                    .inc("count", delta.getCount())
+                    .inc("totalAmount", delta.getTotalAmount());
+            ops.upsert(Query.query(Criteria.where("_id").is(delta.getId())), update);
+        }
+        ops.execute();
+    }
+}
@@ -0,0 +1,154 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.AggregateBucket;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fused aggregator for every dashboard chart and the summary. One pass over either
+ * raw transactions or stored aggregate buckets fills all dimensions at once, and the
+ * chart builders then read the in-memory groups. Not thread-safe while filling; the
+ * builders only read, so a filled accumulator can be shared between threads.
+ */
+public class AnalyticsAccumulator {
+
+    public static final List<String> DIMENSIONS = List.of(
+            AggregateService.TYPE,
+            AggregateService.STATUS,
+            AggregateService.DEVICE,
+            AggregateService.FRAUD,
+            AggregateService.FLAG,
+            AggregateService.TOTAL,
+            AggregateService.RISK);
+
+    // dimension -> key -> bucket; keys kept sorted so charts list them in a stable order
+    private final Map<String, Map<String, AggregateBucket>> groups = new LinkedHashMap<>();
+
+    public AnalyticsAccumulator() {
+        for (String dimension : DIMENSIONS) {
+            groups.put(dimension, new TreeMap<>());
+        }
+    }
+
+    public void accept(Transaction txn) {
+        boolean fraudulent = txn.isFraudFlag() && "ATM".equalsIgnoreCase(txn.getDeviceUsed());
+        double amount = txn.getAmount();
+
+        add(AggregateService.TYPE, keyOf(txn.getType()), 1, amount);
+        add(AggregateService.STATUS, keyOf(txn.getStatus()), 1, amount);
+        add(AggregateService.DEVICE, keyOf(txn.getDeviceUsed()), 1, amount);
+        add(AggregateService.FRAUD, fraudulent ? AggregateService.FRAUDULENT : AggregateService.LEGITIMATE, 1, amount);
+        add(AggregateService.FLAG, String.valueOf(txn.isFraudFlag()), 1, amount);
+        add(AggregateService.TOTAL, AggregateService.TOTAL_KEY, 1, amount);
+        add(AggregateService.RISK, riskBandOf(txn.getRiskScore()), 1, amount);
+    }
+
+    public void accept(AggregateBucket bucket) {
+        if (groups.containsKey(bucket.getDimension())) {
+            add(bucket.getDimension(), bucket.getKey(), bucket.getCount(), bucket.getTotalAmount());
+        }
+    }
+
+    public List<AggregateBucket> getBuckets() {
+        List<AggregateBucket> buckets = new ArrayList<>();
+        for (Map<String, AggregateBucket> group : groups.values()) {
+            buckets.addAll(group.values());
+        }
+        return buckets;
+    }
+
+    // Chart builders
+    public AnalyticsData amountByType() {
+        return chart("bar", "Transaction Amount by Type", AggregateService.TYPE, true);
+    }
+
+    public AnalyticsData countByStatus() {
+        return chart("pie", "Transaction Count by Status", AggregateService.STATUS, false);
+    }
+
+    public AnalyticsData fraudAnalysis() {
+        long fraudCount = bucket(AggregateService.FRAUD, AggregateService.FRAUDULENT).getCount();
+        long legitimateCount = bucket(AggregateService.FRAUD, AggregateService.LEGITIMATE).getCount();
+
+        List<String> labels = Arrays.asList("Legitimate", "Fraudulent");
+        List<Object> data = Arrays.asList(legitimateCount, fraudCount);
+
+        return new AnalyticsData("doughnut", "Fraud Analysis", labels, data);
+    }
+
+    public AnalyticsData deviceUsage() {
+        return chart("bar", "Device Usage Analysis", AggregateService.DEVICE, false);
+    }
+
+    public AnalyticsData riskDistribution() {
+        return chart("bar", "Transactions by Risk Score", AggregateService.RISK, false);
+    }
+
+    // The amount trend is not among them; it comes from the eventTime rollups
+    public List<AnalyticsData> charts() {
+        List<AnalyticsData> analytics = new ArrayList<>();
+        analytics.add(amountByType());
+        analytics.add(countByStatus());
+        analytics.add(fraudAnalysis());
+        analytics.add(deviceUsage());
+        analytics.add(riskDistribution());
+        return analytics;
+    }
+
+    public Map<String, Object> summary() {
+        AggregateBucket total = bucket(AggregateService.TOTAL, AggregateService.TOTAL_KEY);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalTransactions", total.getCount());
+        summary.put("totalAmount", total.getTotalAmount());
+        summary.put("fraudCount", bucket(AggregateService.FLAG, "true").getCount());
+        summary.put("uniqueDevices", (long) groups.get(AggregateService.DEVICE).size());
+        summary.put("uniqueTypes", (long) groups.get(AggregateService.TYPE).size());
+
+        return summary;
+    }
+
+    private AnalyticsData chart(String chartType, String title, String dimension, boolean sumAmount) {
+        List<String> labels = new ArrayList<>();
+        List<Object> data = new ArrayList<>();
+        for (AggregateBucket bucket : groups.get(dimension).values()) {
+            labels.add(bucket.getKey());
+            data.add(sumAmount ? (Object) bucket.getTotalAmount() : (Object) bucket.getCount());
+        }
+
+        return new AnalyticsData(chartType, title, labels, data);
+    }
+
+    private AggregateBucket bucket(String dimension, String key) {
+        AggregateBucket bucket = groups.get(dimension).get(key);
+        return bucket != null ? bucket : new AggregateBucket(dimension, key, 0, 0);
+    }
+
+    private void add(String dimension, String key, long count, double amount) {
+        AggregateBucket bucket = groups.get(dimension)
+                .computeIfAbsent(key, k -> new AggregateBucket(dimension, k, 0, 0));
+        bucket.setCount(bucket.getCount() + count);
+        bucket.setTotalAmount(bucket.getTotalAmount() + amount);
+    }
+
+    static String keyOf(String value) {
+        return value == null || value.isBlank() ? AggregateService.UNKNOWN : value;
+    }
+
+    // 20-point bands, labelled so that they sort in score order
+    static String riskBandOf(Integer score) {
+        if (score == null) {
+            return AggregateService.UNSCORED;
+        }
+        int band = Math.min(Math.max(score, 0) / 20, 4);
+        return band == 4 ? "80-100" : (band * 20) + "-" + (band * 20 + 19);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.DataVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches computed analytics per key (data source and time range). An entry is
+ * reused while the {@link DataVersion} it was computed at is still current and its
+ * TTL has not run out; every miss also drops the entries that no longer are, so the
+ * cache only holds live keys. Concurrent misses on one key share a single
+ * computation instead of each recomputing the same result.
+ */
+@Component
+public class AnalyticsCache {
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Duration ttl, Supplier<T> loader) {
+        while (true) {
+            long version = dataVersion.current();
+            long now = System.nanoTime();
+            Slot existing = slots.get(key);
+            if (existing != null && existing.version == version && existing.expiresAt - now > 0) {
+                return (T) await(existing.value); // fresh value, or a computation already in flight
+            }
+
+            Slot mine = new Slot(version, now + ttl.toNanos());
+            boolean claimed = existing == null
+                    ? slots.putIfAbsent(key, mine) == null
+                    : slots.replace(key, existing, mine);
+            if (!claimed) {
+                continue; // another caller installed a slot first; re-check it
+            }
+            slots.values().removeIf(slot -> slot != mine && (slot.version != version || slot.expiresAt - now <= 0));
+
+            try {
+                T value = loader.get();
+                mine.value.complete(value);
+                return value;
+            } catch (Throwable e) {
+                // Errors too, or callers already waiting on this slot would block forever
+                slots.remove(key, mine);
+                mine.value.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    public void clear() {
+        slots.clear();
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    private static Object await(CompletableFuture<Object> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Slot {
+        final long version;
+        final long expiresAt;
+        final CompletableFuture<Object> value = new CompletableFuture<>();
+
+        Slot(long version, long expiresAt) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestListener;
+import com.ADI_Farmer.fin_data_service.ingestion.TransactionLoader;
+import com.ADI_Farmer.fin_data_service.ingestion.WriteBarrier;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Optional in-process analytics engine ({@code analytics.columnar.enabled}). Loads
+ * the stored transactions into {@link TransactionColumns} at startup and appends
+ * every persisted batch, so chart and summary queries for any time range run as
+ * array scans without a database round trip.
+ */
+@Service
+public class ColumnarAnalyticsService implements IngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarAnalyticsService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WriteBarrier writeBarrier;
+
+    @Value("${analytics.columnar.enabled:false}")
+    private boolean enabled;
+
+    private volatile TransactionColumns columns = new TransactionColumns();
+
+    private TransactionLoader loader;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void createLoader() {
+        loader = new TransactionLoader(mongoTemplate, writeBarrier, "amount", "type", "status", "deviceUsed",
+                "eventTime", "fraudFlag", "riskScore");
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public AnalyticsAccumulator analytics(String timeRange) {
+        return columns.aggregate(TimeRange.fromCode(timeRange).since(Instant.now()));
+    }
+
+    @Override
+    public void onBatchPersisted(List<Transaction> batch) {
+        columns.append(loader.fresh(batch));
+    }
+
+    public void initializeColumns() {
+        if (!enabled) {
+            return;
+        }
+
+        loader.load(columns::append);
+        ready = true;
+        log.info("Loaded {} transactions into the columnar analytics store", columns.size());
+    }
+
+    @Override
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        TransactionColumns fresh = new TransactionColumns();
+        loader.load(fresh::append);
+        columns = fresh;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch: {@code depth} rows of {@code width} counters, each key adding to
+ * one counter per row. The smallest of a key's counters over-estimates its count by at
+ * most {@code e / width} of the total with probability {@code 1 - e^-depth}, and two
+ * sketches of the same shape merge by adding counters. Not thread-safe.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long[] counters;
+    private long total;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be positive and width a power of two: " + depth + "x" + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth * width];
+    }
+
+    public void add(String key, long count) {
+        long h = hash(key);
+        for (int row = 0; row < depth; row++) {
+            counters[index(row, h)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(String key) {
+        long h = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(row, h)]);
+        }
+        return estimate;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("cannot merge a " + other.depth + "x" + other.width
+                    + " sketch into " + depth + "x" + width);
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+        total = 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /** Bound on the over-estimate of any key, holding with probability {@code 1 - e^-depth}. */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E / width * total);
+    }
+
+    // Row hashes h1 + row * h2 from the two halves of one 64-bit hash
+    private int index(int row, long h) {
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L; // FNV-1a, then mixed
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.DataVersion;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.DashboardConfig;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes dashboard updates to subscribed browsers over Server-Sent Events. A
+ * scheduled check compares the {@link DataVersion} with the last pushed one, so all
+ * batches ingested within one interval coalesce into a single push. The summary and
+ * charts are computed (through the analytics cache) and serialized once, then
+ * fanned out to every subscriber; charts whose data did not change are skipped.
+ * Charts over a sliding window (1h, 24h) change as time passes, so they are also
+ * re-checked every {@code dashboard.push.window-refresh-ms} without new data.
+ */
+@Service
+public class DashboardEventService {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${dashboard.push.emitter-timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    @Value("${dashboard.push.window-refresh-ms:60000}")
+    private long windowRefresh;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final Map<String, AnalyticsData> lastCharts = new ConcurrentHashMap<>();
+    private Map<String, Object> lastSummary = Map.of();
+    private long pushedVersion;
+    private long windowsPushedAt;
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.push.interval-ms:1000}")
+    public void pushUpdates() {
+        long version = dataVersion.current();
+        long now = System.currentTimeMillis();
+        boolean changed = version != pushedVersion;
+        if (!changed && now - windowsPushedAt < windowRefresh) {
+            return;
+        }
+        if (emitters.isEmpty()) {
+            lastCharts.clear(); // nobody to diff against; the next subscriber loads fresh data
+            pushedVersion = version;
+            windowsPushedAt = now;
+            return;
+        }
+
+        if (changed) {
+            pushSummary();
+        }
+        for (DashboardConfig config : dashboardService.getActiveConfigs()) {
+            if (changed || !TimeRange.fromCode(config.getTimeRange()).isAll()) {
+                pushChart(config);
+            }
+        }
+        // Only now, so a push that failed part way is retried on the next tick
+        pushedVersion = version;
+        windowsPushedAt = now;
+    }
+
+    private void pushSummary() {
+        Map<String, Object> summary = dashboardService.getDashboardSummary("all");
+        Map<String, Object> summaryEvent = new HashMap<>();
+        summaryEvent.put("summary", summary);
+        summaryEvent.put("delta", delta(lastSummary, summary));
+        broadcast("summary", summaryEvent);
+        lastSummary = summary;
+    }
+
+    private void pushChart(DashboardConfig config) {
+        AnalyticsData data;
+        try {
+            data = dashboardService.getAnalyticsForConfig(config.getDataSource(), config.getTimeRange());
+        } catch (RuntimeException e) {
+            return; // e.g. a store still loading; the other charts are still pushed
+        }
+        AnalyticsData previous = lastCharts.get(config.getId());
+        if (previous != null && Objects.equals(previous.getLabels(), data.getLabels())
+                && Objects.equals(previous.getData(), data.getData())
+                && Objects.equals(previous.getOptions(), data.getOptions())) {
+            return;
+        }
+
+        Map<String, Object> chartEvent = new HashMap<>();
+        chartEvent.put("configId", config.getId());
+        chartEvent.put("dataSource", config.getDataSource());
+        chartEvent.put("data", data);
+        broadcast("chart", chartEvent);
+        lastCharts.put(config.getId(), data);
+    }
+
+    // Keeps idle connections open through proxies and prunes clients that went away
+    @Scheduled(fixedRateString = "${dashboard.push.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private void broadcast(String name, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + name + " event", e);
+        }
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(json));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private static Map<String, Object> delta(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> delta = new HashMap<>();
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            Object before = previous.get(entry.getKey());
+            if (entry.getValue() instanceof Number now && before instanceof Number then) {
+                delta.put(entry.getKey(), now.doubleValue() - then.doubleValue());
+            }
+        }
+        return delta;
+    }
+}
@@ -2,22 +2,65 @@ package com.ADI_Farmer.fin_data_service.service;
 
 import com.ADI_Farmer.fin_data_service.model.DashboardConfig;
 import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.DashboardView;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
 import com.ADI_Farmer.fin_data_service.repository.DashboardConfigRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class DashboardService {
 
+    // Data sources charting a heavy-hitter key over a sliding window
+    private static final Map<String, String> HEAVY_HITTER_SOURCES = Map.of(
+            "top-senders", HeavyHitterService.SENDER,
+            "top-receivers", HeavyHitterService.RECEIVER,
+            "top-pin-codes", HeavyHitterService.PIN_CODE,
+            "top-devices", HeavyHitterService.DEVICE);
+
+    // Every other data source is charted as amount, so it is cached under that name
+    private static final Set<String> DATA_SOURCES = Set.of(
+            "amount", "status", "fraud", "device", "risk", "trend", "qos", "qos-device");
+
     @Autowired
     private DashboardConfigRepository configRepository;
 
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Value("${analytics.cache.default-ttl:30s}")
+    private Duration defaultTtl;
+
+    // dataSource -> shortest refreshInterval among the configs charting it
+    private volatile Map<String, Duration> refreshIntervals = Map.of();
+
+    private final ExecutorService renderPool;
+
+    public DashboardService(@Value("${dashboard.render-threads:4}") int renderThreads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dashboard-render-");
+        threadFactory.setDaemon(true);
+        this.renderPool = Executors.newFixedThreadPool(Math.max(1, renderThreads), threadFactory);
+    }
+
     public List<DashboardConfig> getAllConfigs() {
         return configRepository.findAll();
     }
@@ -27,7 +70,9 @@ public class DashboardService {
     }
 
     public DashboardConfig saveConfig(DashboardConfig config) {
-        return configRepository.save(config);
+        DashboardConfig saved = configRepository.save(config);
+        loadRefreshIntervals();
+        return saved;
     }
 
     public Optional<DashboardConfig> getConfigById(String id) {
@@ -36,6 +81,7 @@ public class DashboardService {
 
     public void deleteConfig(String id) {
         configRepository.deleteById(id);
+        loadRefreshIntervals();
     }
 
     public void toggleConfig(String id) {
@@ -44,36 +90,145 @@ public class DashboardService {
             DashboardConfig config = configOpt.get();
             config.setEnabled(!config.isEnabled());
             configRepository.save(config);
+            loadRefreshIntervals();
         }
     }
 
-    public AnalyticsData getAnalyticsForConfig(String dataSource) {
-        switch (dataSource.toLowerCase()) {
-            case "amount":
-                return transactionService.getTransactionAmountByType();
+    /**
+     * Chart data for a data source, served from the analytics cache. Entries live for
+     * the data source's refreshInterval and are dropped as soon as new data is ingested.
+     */
+    @Timed("dashboard.analytics")
+    public AnalyticsData getAnalyticsForConfig(String dataSource, String timeRange) {
+        String source = sourceOf(dataSource);
+        String range = TimeRange.fromCode(timeRange).getCode();
+        return analyticsCache.get(source + "|" + range, ttlFor(source),
+                () -> computeAnalytics(source, range));
+    }
+
+    /**
+     * The summary, the active configs and every active chart in one response. Charts
+     * are built concurrently; those sharing a time range are all served from one
+     * read of that range, since the cache runs a single load per key. A chart that
+     * fails, such as one over a store that is still loading, is reported in the
+     * view's errors instead of failing the others.
+     */
+    @Timed("dashboard.analytics")
+    public DashboardView getDashboardView() {
+        List<DashboardConfig> configs = getActiveConfigs();
+
+        CompletableFuture<Map<String, Object>> summary =
+                CompletableFuture.supplyAsync(() -> getDashboardSummary("all"), renderPool);
+        Map<String, CompletableFuture<AnalyticsData>> pending = new LinkedHashMap<>();
+        for (DashboardConfig config : configs) {
+            pending.put(config.getId(), CompletableFuture.supplyAsync(
+                    () -> getAnalyticsForConfig(config.getDataSource(), config.getTimeRange()), renderPool));
+        }
+
+        Map<String, AnalyticsData> charts = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        pending.forEach((id, chart) -> {
+            try {
+                charts.put(id, join(chart));
+            } catch (RuntimeException e) {
+                errors.put(id, e.getMessage());
+            }
+        });
+        return new DashboardView(join(summary), configs, charts, errors);
+    }
+
+    private AnalyticsData computeAnalytics(String dataSource, String timeRange) {
+        if ("trend".equals(dataSource)) {
+            return transactionService.getAmountTrend(timeRange);
+        }
+        if ("qos".equals(dataSource)) {
+            return transactionService.getNetworkQos(NetworkQosService.SLICE, timeRange);
+        }
+        if ("qos-device".equals(dataSource)) {
+            return transactionService.getNetworkQos(NetworkQosService.DEVICE, timeRange);
+        }
+        if (HEAVY_HITTER_SOURCES.containsKey(dataSource)) {
+            return transactionService.getHeavyHitters(HEAVY_HITTER_SOURCES.get(dataSource), timeRange);
+        }
+
+        AnalyticsAccumulator analytics = analyticsFor(timeRange);
+        switch (dataSource) {
             case "status":
-                return transactionService.getTransactionCountByStatus();
+                return analytics.countByStatus();
             case "fraud":
-                return transactionService.getFraudAnalysis();
-            case "trend":
-                return transactionService.getAmountTrend();
+                return analytics.fraudAnalysis();
             case "device":
-                return transactionService.getDeviceUsageAnalysis();
+                return analytics.deviceUsage();
+            case "risk":
+                return analytics.riskDistribution();
+            case "amount":
             default:
-                return transactionService.getTransactionAmountByType();
+                return analytics.amountByType();
         }
     }
 
-    public List<AnalyticsData> getAllAnalytics() {
-        return transactionService.getAllAnalytics();
+    // One read of every dimension per time range, shared by all charts and the summary
+    private AnalyticsAccumulator analyticsFor(String timeRange) {
+        return analyticsCache.get("analytics|" + timeRange, defaultTtl,
+                () -> transactionService.getAnalyticsAccumulator(timeRange));
+    }
+
+    public List<AnalyticsData> getAllAnalytics(String timeRange) {
+        return transactionService.getAllAnalytics(timeRange);
     }
 
-    public Object getDashboardSummary() {
-        return transactionService.getDashboardSummary();
+    @Timed("dashboard.analytics")
+    public Map<String, Object> getDashboardSummary(String timeRange) {
+        String range = TimeRange.fromCode(timeRange).getCode();
+        return analyticsCache.get("summary|" + range, defaultTtl,
+                () -> transactionService.summarize(analyticsFor(range), range));
+    }
+
+    private static String sourceOf(String dataSource) {
+        String source = dataSource.toLowerCase();
+        return DATA_SOURCES.contains(source) || HEAVY_HITTER_SOURCES.containsKey(source) ? source : "amount";
+    }
+
+    private Duration ttlFor(String dataSource) {
+        return refreshIntervals.getOrDefault(dataSource, defaultTtl);
+    }
+
+    private void loadRefreshIntervals() {
+        Map<String, Duration> intervals = new HashMap<>();
+        for (DashboardConfig config : configRepository.findAll()) {
+            if (config.getDataSource() == null || config.getRefreshInterval() <= 0) {
+                continue;
+            }
+            intervals.merge(sourceOf(config.getDataSource()),
+                    Duration.ofSeconds(config.getRefreshInterval()),
+                    (a, b) -> a.compareTo(b) <= 0 ? a : b);
+        }
+        refreshIntervals = intervals;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     // Initialize default dashboard configurations
     public void initializeDefaultConfigs() {
+        initializeDefaults();
+        loadRefreshIntervals();
+    }
+
+    private void initializeDefaults() {
         if (configRepository.count() == 0) {
             DashboardConfig config1 = new DashboardConfig();
             config1.setChartType("bar");
@@ -0,0 +1,201 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestListener;
+import com.ADI_Farmer.fin_data_service.model.DistinctSketch;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.ADI_Farmer.fin_data_service.repository.DistinctSketchRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Distinct sender accounts, receiver accounts and pin codes, estimated from one
+ * {@link HyperLogLog} per metric and UTC day. Sketches are updated in memory as
+ * batches are persisted and written back on a schedule; a window's estimate merges
+ * the day sketches it overlaps, so it costs O(days) whatever the cardinality. Since
+ * re-adding a value never changes a sketch, rebuilding from the stored transactions
+ * while uploads run cannot over-count.
+ */
+@Service
+public class DistinctCountService implements IngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DistinctCountService.class);
+
+    public static final String SENDERS = "senders";
+    public static final String RECEIVERS = "receivers";
+    public static final String PIN_CODES = "pinCodes";
+
+    private static final Map<String, String> SUMMARY_KEYS = new LinkedHashMap<>();
+
+    static {
+        SUMMARY_KEYS.put(SENDERS, "uniqueSenders");
+        SUMMARY_KEYS.put(RECEIVERS, "uniqueReceivers");
+        SUMMARY_KEYS.put(PIN_CODES, "uniquePinCodes");
+    }
+
+    @Autowired
+    private DistinctSketchRepository sketchRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${analytics.distinct.precision:14}")
+    private int precision;
+
+    private final Map<String, HyperLogLog> sketches = new ConcurrentHashMap<>(); // by DistinctSketch id
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void onBatchPersisted(List<Transaction> batch) {
+        for (Transaction txn : batch) {
+            add(txn);
+        }
+    }
+
+    /**
+     * Summary entries for the window: the estimated distinct counts, plus their
+     * relative standard error. Windows are widened to whole days.
+     */
+    public Map<String, Object> estimates(String timeRange) {
+        Instant since = TimeRange.fromCode(timeRange).since(Instant.now());
+        String firstDay = since == null ? null : dayOf(since);
+
+        Map<String, HyperLogLog> merged = new LinkedHashMap<>();
+        for (String metric : SUMMARY_KEYS.keySet()) {
+            merged.put(metric, new HyperLogLog(precision));
+        }
+        sketches.forEach((id, sketch) -> {
+            int separator = id.indexOf(':');
+            String day = id.substring(separator + 1);
+            boolean inWindow = firstDay == null
+                    || (!AggregateService.UNKNOWN.equals(day) && day.compareTo(firstDay) >= 0);
+            HyperLogLog target = merged.get(id.substring(0, separator));
+            if (inWindow && target != null) {
+                target.merge(sketch);
+            }
+        });
+
+        Map<String, Object> estimates = new LinkedHashMap<>();
+        merged.forEach((metric, sketch) -> estimates.put(SUMMARY_KEYS.get(metric), sketch.estimate()));
+        estimates.put("distinctCountError", new HyperLogLog(precision).standardError());
+        return estimates;
+    }
+
+    /**
+     * Loads the stored sketches, and builds them from the transactions collection
+     * when there are none (or they were built at another precision).
+     */
+    public void initializeSketches() {
+        boolean rebuild = sketchRepository.count() == 0;
+        for (DistinctSketch stored : sketchRepository.findAll()) {
+            if (stored.getPrecision() != precision) {
+                rebuild = true;
+                break;
+            }
+            sketchFor(stored.getMetric(), stored.getDay())
+                    .merge(HyperLogLog.fromRegisters(precision, stored.getRegisters()));
+        }
+        if (!rebuild) {
+            return;
+        }
+        sketchRepository.deleteAll();
+        rebuild();
+    }
+
+    /** Adds every stored transaction again; re-adding a value leaves a sketch unchanged. */
+    @Override
+    public void rebuild() {
+        Query query = new Query();
+        query.fields().include("senderAccountId", "receiverAccountId", "pinCode", "eventTime");
+        long rows = 0;
+        try (Stream<Transaction> cursor = mongoTemplate.stream(query, Transaction.class)) {
+            Iterator<Transaction> it = cursor.iterator();
+            while (it.hasNext()) {
+                add(it.next());
+                rows++;
+            }
+        }
+        if (rows > 0) {
+            dirty.addAll(sketches.keySet());
+            flush();
+            log.info("Rebuilt {} distinct-count sketches from {} transactions", sketches.size(), rows);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.distinct.flush-ms:10000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DistinctSketch.class);
+        int writes = 0;
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String id = it.next();
+            it.remove(); // before the snapshot, so later updates mark it dirty again
+            HyperLogLog sketch = sketches.get(id);
+            int separator = id.indexOf(':');
+            Update update = new Update()
+                    .setOnInsert("metric", id.substring(0, separator))
+                    .setOnInsert("day", id.substring(separator + 1))
+                    .set("precision", precision)
+                    .set("registers", sketch.toBytes());
+            ops.upsert(Query.query(Criteria.where("_id").is(id)), update);
+            writes++;
+        }
+        if (writes > 0) {
+            ops.execute();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void add(Transaction txn) {
+        String day = txn.getEventTime() == null ? AggregateService.UNKNOWN : dayOf(txn.getEventTime());
+        offer(SENDERS, day, txn.getSenderAccountId());
+        offer(RECEIVERS, day, txn.getReceiverAccountId());
+        if (txn.getPinCode() != 0) { // 0 is what a missing pin code parses to
+            sketchFor(PIN_CODES, day).offer(txn.getPinCode());
+            dirty.add(DistinctSketch.idFor(PIN_CODES, day));
+        }
+    }
+
+    private void offer(String metric, String day, String value) {
+        if (value != null && !value.isBlank()) {
+            sketchFor(metric, day).offer(value);
+            dirty.add(DistinctSketch.idFor(metric, day));
+        }
+    }
+
+    private HyperLogLog sketchFor(String metric, String day) {
+        return sketches.computeIfAbsent(DistinctSketch.idFor(metric, day), id -> new HyperLogLog(precision));
+    }
+
+    private static String dayOf(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.DAYS).toString().substring(0, 10);
+    }
+}
@@ -0,0 +1,263 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestListener;
+import com.ADI_Farmer.fin_data_service.ingestion.TransactionLoader;
+import com.ADI_Farmer.fin_data_service.ingestion.WriteBarrier;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Top senders, receivers, pin codes and devices by transaction count, from
+ * {@link HeavyHitterWindow}s kept in memory ({@code analytics.heavy-hitters.enabled}).
+ * Each key has a ring of 5-minute panes for the last hour, of hour panes for the last
+ * day and of day panes for the last month, plus an all-time summary, so the memory is
+ * fixed by configuration. A sliding window ({@code 1h}, {@code 24h}, ...) ends now and is
+ * widened to whole panes; a tumbling one starts at the current hour, day, ISO week or
+ * month. The windows are loaded at startup and extended with every persisted batch.
+ */
+@Service
+public class HeavyHitterService implements IngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(HeavyHitterService.class);
+
+    public static final String SENDER = "sender";
+    public static final String RECEIVER = "receiver";
+    public static final String PIN_CODE = "pinCode";
+    public static final String DEVICE = "device";
+
+    public static final String SLIDING = "sliding";
+    public static final String TUMBLING = "tumbling";
+
+    private static final Map<String, String> TITLES = new LinkedHashMap<>();
+    private static final Map<String, Function<Transaction, String>> KEYS = new LinkedHashMap<>();
+
+    static {
+        TITLES.put(SENDER, "Top Senders");
+        TITLES.put(RECEIVER, "Top Receivers");
+        TITLES.put(PIN_CODE, "Busiest Pin Codes");
+        TITLES.put(DEVICE, "Busiest Devices");
+        KEYS.put(SENDER, txn -> blankToNull(txn.getSenderAccountId()));
+        KEYS.put(RECEIVER, txn -> blankToNull(txn.getReceiverAccountId()));
+        KEYS.put(PIN_CODE, txn -> txn.getPinCode() == 0 ? null : String.valueOf(txn.getPinCode()));
+        KEYS.put(DEVICE, txn -> AnalyticsAccumulator.keyOf(txn.getDeviceUsed()));
+    }
+
+    // Pane length and count per tier; each ring spans its window plus the partial pane at the start
+    private static final Duration[] PANE_LENGTHS = {Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofDays(1), Duration.ZERO};
+    private static final int[] PANE_COUNTS = {13, 25, 31, 1};
+    private static final int ALL_TIME = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WriteBarrier writeBarrier;
+
+    @Value("${analytics.heavy-hitters.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analytics.heavy-hitters.capacity:100}")
+    private int capacity;
+
+    @Value("${analytics.heavy-hitters.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${analytics.heavy-hitters.sketch-width:1024}")
+    private int sketchWidth;
+
+    @Value("${analytics.heavy-hitters.top:10}")
+    private int defaultTop;
+
+    private volatile Map<String, HeavyHitterWindow[]> windows = Map.of(); // by key, per tier
+
+    private TransactionLoader loader;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void createWindows() {
+        loader = new TransactionLoader(mongoTemplate, writeBarrier,
+                "senderAccountId", "receiverAccountId", "pinCode", "deviceUsed", "amount", "eventTime");
+        if (enabled) {
+            windows = newWindows();
+        }
+    }
+
+    @Override
+    public void onBatchPersisted(List<Transaction> batch) {
+        add(windows, loader.fresh(batch));
+    }
+
+    public AnalyticsData getHeavyHitters(String key, String timeRange, String window) {
+        return getHeavyHitters(key, timeRange, window, defaultTop);
+    }
+
+    /**
+     * The {@code k} most frequent values of {@code key} (sender, receiver, pinCode or
+     * device) in the window, as bars of estimated counts. The options carry the count
+     * each value certainly has, the amounts summed while it was tracked, the window's
+     * row count and the bound on any estimate's over-count.
+     */
+    public AnalyticsData getHeavyHitters(String key, String timeRange, String window, int k) {
+        if (!KEYS.containsKey(key)) {
+            throw new IllegalArgumentException("key must be one of " + KEYS.keySet() + ": " + key);
+        }
+        if (!SLIDING.equalsIgnoreCase(window) && !TUMBLING.equalsIgnoreCase(window)) {
+            throw new IllegalArgumentException("window must be sliding or tumbling: " + window);
+        }
+        if (k < 1 || k > capacity) {
+            throw new IllegalArgumentException("k must be between 1 and " + capacity + ": " + k);
+        }
+        HeavyHitterWindow[] tiers = windows.get(key);
+        if (!ready || tiers == null) {
+            throw new StoreUnavailableException(enabled
+                    ? "Heavy hitters are still loading"
+                    : "Heavy hitters are disabled (analytics.heavy-hitters.enabled)");
+        }
+
+        TimeRange range = TimeRange.fromCode(timeRange);
+        Instant now = Instant.now();
+        Instant since = TUMBLING.equalsIgnoreCase(window) ? currentPeriodStart(range, now) : range.since(now);
+        HeavyHitterWindow.Top top = since == null
+                ? tiers[ALL_TIME].top(Long.MIN_VALUE, k)
+                : tiers[tierOf(range)].top(since.toEpochMilli(), k);
+
+        List<String> labels = new ArrayList<>();
+        List<Object> estimates = new ArrayList<>();
+        List<Object> minimums = new ArrayList<>();
+        List<Object> amounts = new ArrayList<>();
+        for (HeavyHitterWindow.Entry entry : top.getEntries()) {
+            labels.add(entry.getKey());
+            estimates.add(entry.getEstimate());
+            minimums.add(entry.getMinimum());
+            amounts.add(entry.getAmount());
+        }
+
+        AnalyticsData data = new AnalyticsData("bar", TITLES.get(key), labels, estimates);
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("minimum", minimums);
+        options.put("amount", amounts);
+        options.put("total", top.getTotal());
+        options.put("errorBound", top.getErrorBound());
+        options.put("window", window.toLowerCase());
+        options.put("since", since);
+        data.setOptions(options);
+        return data;
+    }
+
+    public void initializeHeavyHitters() {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, HeavyHitterWindow[]> loaded = windows;
+        long rows = loader.load(chunk -> add(loaded, chunk));
+        ready = true;
+        log.info("Loaded {} transactions into the heavy-hitter windows", rows);
+    }
+
+    @Override
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, HeavyHitterWindow[]> fresh = newWindows();
+        loader.load(chunk -> add(fresh, chunk));
+        windows = fresh;
+    }
+
+    private Map<String, HeavyHitterWindow[]> newWindows() {
+        Map<String, HeavyHitterWindow[]> windows = new LinkedHashMap<>();
+        for (String key : KEYS.keySet()) {
+            HeavyHitterWindow[] tiers = new HeavyHitterWindow[PANE_LENGTHS.length];
+            for (int tier = 0; tier < tiers.length; tier++) {
+                tiers[tier] = new HeavyHitterWindow(PANE_LENGTHS[tier].toMillis(), PANE_COUNTS[tier],
+                        capacity, sketchDepth, sketchWidth);
+            }
+            windows.put(key, tiers);
+        }
+        return windows;
+    }
+
+    private static void add(Map<String, HeavyHitterWindow[]> windows, List<Transaction> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int rows = batch.size();
+        long[] times = new long[rows];
+        double[] amounts = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            Transaction txn = batch.get(i);
+            times[i] = txn.getEventTime() != null ? txn.getEventTime().toEpochMilli() : Long.MIN_VALUE;
+            amounts[i] = txn.getAmount();
+        }
+        String[] keys = new String[rows];
+        windows.forEach((key, tiers) -> {
+            Function<Transaction, String> keyOf = KEYS.get(key);
+            for (int i = 0; i < rows; i++) {
+                keys[i] = keyOf.apply(batch.get(i));
+            }
+            for (HeavyHitterWindow tier : tiers) {
+                tier.add(times, keys, amounts, rows);
+            }
+        });
+    }
+
+    private static int tierOf(TimeRange range) {
+        switch (range) {
+            case LAST_HOUR:
+                return 0;
+            case LAST_DAY:
+                return 1;
+            case LAST_WEEK:
+            case LAST_MONTH:
+                return 2;
+            case ALL:
+            default:
+                return ALL_TIME;
+        }
+    }
+
+    // Start of the calendar hour, day, ISO week or month (UTC) the range code stands for
+    private static Instant currentPeriodStart(TimeRange range, Instant now) {
+        ZonedDateTime day = now.atZone(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+        switch (range) {
+            case LAST_HOUR:
+                return now.truncatedTo(ChronoUnit.HOURS);
+            case LAST_DAY:
+                return day.toInstant();
+            case LAST_WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toInstant();
+            case LAST_MONTH:
+                return day.withDayOfMonth(1).toInstant();
+            case ALL:
+            default:
+                return null;
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,182 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Most frequent keys of one dimension over a ring of tumbling panes, each holding a
+ * {@link SpaceSaving} summary and a {@link CountMinSketch}. A pane is reset when the
+ * first row of a later pane lands in its slot, so memory is fixed by the pane count and
+ * summary sizes whatever the number of distinct keys. A window query merges the panes
+ * it overlaps: the Space-Saving keys are the candidates and each one's count is the
+ * smaller of the merged Count-Min estimate and the summed Space-Saving upper bounds.
+ * A pane length of zero keeps a single pane over all time.
+ */
+public class HeavyHitterWindow {
+
+    /** A frequent key: its estimated count, the count it certainly has, and its tracked amount. */
+    public static final class Entry {
+        private final String key;
+        private final long estimate;
+        private final long minimum;
+        private final double amount;
+
+        Entry(String key, long estimate, long minimum, double amount) {
+            this.key = key;
+            this.estimate = estimate;
+            this.minimum = minimum;
+            this.amount = amount;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getEstimate() {
+            return estimate;
+        }
+
+        public long getMinimum() {
+            return minimum;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+    }
+
+    /** The top keys of a window, with the window's row count and the estimates' error bound. */
+    public static final class Top {
+        private final List<Entry> entries;
+        private final long total;
+        private final long errorBound;
+
+        Top(List<Entry> entries, long total, long errorBound) {
+            this.entries = entries;
+            this.total = total;
+            this.errorBound = errorBound;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getErrorBound() {
+            return errorBound;
+        }
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long paneMillis;
+    private final int depth;
+    private final int width;
+    private final Pane[] panes;
+
+    public HeavyHitterWindow(long paneMillis, int paneCount, int capacity, int depth, int width) {
+        this.paneMillis = paneMillis;
+        this.depth = depth;
+        this.width = width;
+        this.panes = new Pane[paneMillis == 0 ? 1 : paneCount];
+        for (int i = 0; i < panes.length; i++) {
+            panes[i] = new Pane(capacity, depth, width);
+        }
+    }
+
+    /**
+     * Adds rows given as parallel arrays; a null key is skipped, and so is a row whose
+     * pane has already been reused for a later one.
+     */
+    public synchronized void add(long[] times, String[] keys, double[] amounts, int rows) {
+        for (int i = 0; i < rows; i++) {
+            if (keys[i] == null) {
+                continue;
+            }
+            Pane pane = paneFor(times[i]);
+            if (pane != null) {
+                pane.summary.offer(keys[i], amounts[i]);
+                pane.sketch.add(keys[i], 1);
+            }
+        }
+    }
+
+    /** The {@code k} most frequent keys of the panes starting at or after the pane holding {@code since}. */
+    public synchronized Top top(long since, int k) {
+        long firstPane = paneMillis == 0 ? EMPTY : Math.floorDiv(since, paneMillis) * paneMillis;
+        List<Pane> overlapped = new ArrayList<>();
+        Set<String> candidates = new HashSet<>();
+        CountMinSketch merged = new CountMinSketch(depth, width);
+        for (Pane pane : panes) {
+            if (pane.start == EMPTY || pane.start < firstPane) {
+                continue;
+            }
+            overlapped.add(pane);
+            merged.merge(pane.sketch);
+            for (SpaceSaving.Counter counter : pane.summary.counters()) {
+                candidates.add(counter.getKey());
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(candidates.size());
+        for (String key : candidates) {
+            long upper = 0;
+            long minimum = 0;
+            double amount = 0;
+            for (Pane pane : overlapped) {
+                SpaceSaving.Counter counter = pane.summary.get(key);
+                if (counter != null) {
+                    upper += counter.getCount();
+                    minimum += counter.getCount() - counter.getError();
+                    amount += counter.getAmount();
+                } else {
+                    upper += pane.summary.minCount();
+                }
+            }
+            entries.add(new Entry(key, Math.min(upper, merged.estimate(key)), minimum, amount));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getEstimate).reversed().thenComparing(Entry::getKey));
+        return new Top(new ArrayList<>(entries.subList(0, Math.min(k, entries.size()))),
+                merged.getTotal(), merged.errorBound());
+    }
+
+    private Pane paneFor(long time) {
+        if (paneMillis == 0) {
+            panes[0].start = 0;
+            return panes[0];
+        }
+        if (time == EMPTY) {
+            return null;
+        }
+
+        long index = Math.floorDiv(time, paneMillis);
+        Pane pane = panes[(int) Math.floorMod(index, (long) panes.length)];
+        long start = index * paneMillis;
+        if (pane.start != start) {
+            if (pane.start != EMPTY && pane.start > start) {
+                return null; // older than the ring reaches
+            }
+            pane.summary.clear();
+            pane.sketch.clear();
+            pane.start = start;
+        }
+        return pane;
+    }
+
+    private static final class Pane {
+        final SpaceSaving summary;
+        final CountMinSketch sketch;
+        long start = EMPTY;
+
+        Pane(int capacity, int depth, int width) {
+            this.summary = new SpaceSaving(capacity);
+            this.sketch = new CountMinSketch(depth, width);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-count sketch with 2^precision one-byte registers and a
+ * standard error of about 1.04 / sqrt(2^precision). Adding a value is idempotent
+ * and {@link #merge} is a register-wise max, so sketches of overlapping inputs
+ * combine into the sketch of their union. Small cardinalities fall back to linear
+ * counting; hashes are 64 bits wide, so no large-range correction is needed.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public static HyperLogLog fromRegisters(int precision, byte[] registers) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        if (registers.length != sketch.registers.length) {
+            throw new IllegalArgumentException("expected " + sketch.registers.length + " registers: " + registers.length);
+        }
+        System.arraycopy(registers, 0, sketch.registers, 0, registers.length);
+        return sketch;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void offer(String value) {
+        if (value == null) {
+            return;
+        }
+        long h = 0xCBF29CE484222325L; // FNV-1a, then mixed
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        offerHash(mix(h));
+    }
+
+    public void offer(long value) {
+        offerHash(mix(value + 0x9E3779B97F4A7C15L));
+    }
+
+    private synchronized void offerHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // Guard bit keeps the rank within 64 - precision + 1
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("cannot merge precision " + other.precision + " into " + precision);
+        }
+        byte[] theirs = other.toBytes(); // copied first so no two sketches are ever locked together
+        synchronized (this) {
+            for (int i = 0; i < registers.length; i++) {
+                if (theirs[i] > registers[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+
+    public synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /** Relative standard error of {@link #estimate()}. */
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public synchronized byte[] toBytes() {
+        return Arrays.copyOf(registers, registers.length);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,164 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestionPipeline;
+import com.ADI_Farmer.fin_data_service.ingestion.TransactionSource;
+import com.ADI_Farmer.fin_data_service.model.IngestJob;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs ingestion in the background. At most {@code ingestion.jobs.max-concurrent}
+ * runs feed the pipeline at once, further jobs wait in a bounded queue and
+ * submissions beyond that are rejected, so bulk loads cannot crowd out the
+ * dashboard's database reads. Nothing is accepted until {@link #startAccepting}
+ * is called once startup has built the derived stores, since a batch written during
+ * a rebuild would be counted twice or lost.
+ */
+@Service
+public class IngestJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestJobService.class);
+
+    @Autowired
+    private IngestionPipeline pipeline;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${ingestion.jobs.retained:100}")
+    private int retained;
+
+    private final ThreadPoolExecutor executor;
+
+    private volatile boolean accepting;
+
+    // Insertion ordered, so the oldest finished jobs are pruned first
+    private final Map<String, IngestJob> jobs = new LinkedHashMap<>();
+
+    public IngestJobService(@Value("${ingestion.jobs.max-concurrent:2}") int maxConcurrent,
+                            @Value("${ingestion.jobs.max-queued:16}") int maxQueued) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ingest-job-");
+        threadFactory.setDaemon(true);
+        int threads = Math.max(1, maxConcurrent);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueued)), threadFactory);
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("ingest.jobs", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("state", "running")
+                .register(meterRegistry);
+        Gauge.builder("ingest.jobs", executor, pool -> pool.getQueue().size())
+                .tag("state", "queued")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a run. The source is opened on the job thread; {@code cleanup} runs once
+     * the job is over, however it ends.
+     *
+     * @throws StoreUnavailableException if startup initialization is still running
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public IngestJob submit(String name, Callable<TransactionSource> opener, Runnable cleanup) {
+        if (!accepting) {
+            cleanup.run();
+            throw new StoreUnavailableException("Ingestion opens once startup initialization completes; retry shortly");
+        }
+        IngestJob job = new IngestJob(UUID.randomUUID().toString(), name);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+
+        try {
+            executor.execute(() -> run(job, opener, cleanup));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(job.getId());
+            }
+            cleanup.run();
+            throw new RejectedExecutionException("Too many ingestion jobs queued; retry later", e);
+        }
+        return job;
+    }
+
+    public void startAccepting() {
+        accepting = true;
+    }
+
+    public Optional<IngestJob> getJob(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    public List<IngestJob> getJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    public Optional<IngestJob> cancel(String id) {
+        Optional<IngestJob> job = getJob(id);
+        job.ifPresent(IngestJob::cancel);
+        return job;
+    }
+
+    private void run(IngestJob job, Callable<TransactionSource> opener, Runnable cleanup) {
+        try {
+            if (!job.start()) {
+                return; // cancelled while queued
+            }
+            pipeline.run(opener.call(), job.getReport());
+            job.complete();
+        } catch (Exception e) {
+            job.getReport().finish();
+            job.fail(e.getClass().getSimpleName() + ": " + e.getMessage());
+            log.warn("Ingestion job {} ({}) failed", job.getId(), job.getSource(), e);
+        } finally {
+            cleanup.run();
+            prune();
+        }
+    }
+
+    private void prune() {
+        synchronized (jobs) {
+            Iterator<IngestJob> it = jobs.values().iterator();
+            while (jobs.size() > retained && it.hasNext()) {
+                if (it.next().isFinished()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
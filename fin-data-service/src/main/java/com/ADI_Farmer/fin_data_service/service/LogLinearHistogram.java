@@ -0,0 +1,81 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import java.util.Map;
+
+/**
+ * Fixed-size HDR-style histogram of non-negative integer values. Values below 128
+ * get a bucket each; above that every power of two is split into 64 buckets, so a
+ * bucket's width stays under 1/64 of its values. Values from 2^20 on share the last
+ * bucket. Counts merge by bucket-wise addition, which lets per-period histograms
+ * be stored as sparse bucket counts and combined for any window. Not thread-safe.
+ */
+public class LogLinearHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+
+    public static final long MAX_VALUE = (1L << 20) - 1;
+    public static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+
+    public static int bucketOf(long value) {
+        long v = Math.max(0, Math.min(value, MAX_VALUE));
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - (SUB_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF + (int) ((v >>> shift) - HALF);
+    }
+
+    /** Largest value that falls into the bucket. */
+    public static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF + 1;
+        long mantissa = HALF + (bucket - SUB_BUCKETS) % HALF;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    public void record(long value) {
+        add(bucketOf(value), 1);
+    }
+
+    public void add(int bucket, long count) {
+        counts[bucket] += count;
+        totalCount += count;
+    }
+
+    /** Adds stored bucket counts, keyed by bucket index. */
+    public void addAll(Map<String, Long> bucketCounts) {
+        if (bucketCounts != null) {
+            bucketCounts.forEach((bucket, count) -> add(Integer.parseInt(bucket), count));
+        }
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Upper bound of the value at the given quantile (0..1), i.e. at least that
+     * fraction of the recorded values are at or below it; 0 when empty.
+     */
+    public long valueAt(double quantile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return highestValueOf(bucket);
+            }
+        }
+        return MAX_VALUE;
+    }
+}
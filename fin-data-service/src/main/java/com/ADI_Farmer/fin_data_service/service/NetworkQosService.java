@@ -0,0 +1,213 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestListener;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.QosHistogram;
+import com.ADI_Farmer.fin_data_service.model.RollupResolution;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.ADI_Farmer.fin_data_service.repository.QosHistogramRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Maintains hour and day {@link QosHistogram}s of transaction latency and bandwidth
+ * per network slice and per device, and serves p50/p95/p99 for a time window by
+ * merging the bucket counts it overlaps, so percentiles never sort raw rows. Hour
+ * buckets serve windows up to a day and expire after
+ * {@code analytics.qos.hour-retention}; longer windows use day buckets.
+ */
+@Service
+public class NetworkQosService implements IngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkQosService.class);
+
+    public static final String SLICE = "slice";
+    public static final String DEVICE = "device";
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+    private static final String[] QUANTILE_NAMES = {"p50", "p95", "p99"};
+
+    @Autowired
+    private QosHistogramRepository histogramRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${analytics.qos.hour-retention:2d}")
+    private Duration hourRetention;
+
+    @Override
+    public void onBatchPersisted(List<Transaction> batch) {
+        Map<String, QosHistogram> deltas = new LinkedHashMap<>();
+        Instant hourCutoff = Instant.now().minus(hourRetention);
+        for (Transaction txn : batch) {
+            accumulate(deltas, txn, hourCutoff);
+        }
+        if (!deltas.isEmpty()) {
+            upsert(deltas.values());
+        }
+    }
+
+    /**
+     * Latency percentiles per slice or device ({@code dimension}) for the window, as
+     * bars of p95 with every percentile, the bandwidth percentiles, counts and means
+     * in the options.
+     */
+    public AnalyticsData getNetworkQos(String dimension, String timeRange) {
+        String dim = DEVICE.equalsIgnoreCase(dimension) ? DEVICE : SLICE;
+        TimeRange range = TimeRange.fromCode(timeRange);
+        RollupResolution resolution = !range.isAll() && range.getLength().compareTo(Duration.ofDays(1)) <= 0
+                ? RollupResolution.HOUR
+                : RollupResolution.DAY;
+
+        List<QosHistogram> stored = range.isAll()
+                ? histogramRepository.findByResolutionAndDimension(resolution, dim)
+                : histogramRepository.findByResolutionAndDimensionAndBucketStartGreaterThanEqual(
+                        resolution, dim, resolution.truncate(range.since(Instant.now())));
+
+        Map<String, LogLinearHistogram> latencies = new TreeMap<>();
+        Map<String, LogLinearHistogram> bandwidths = new HashMap<>();
+        Map<String, double[]> sums = new HashMap<>(); // latency, bandwidth
+        for (QosHistogram histogram : stored) {
+            latencies.computeIfAbsent(histogram.getKey(), k -> new LogLinearHistogram()).addAll(histogram.getLatency());
+            bandwidths.computeIfAbsent(histogram.getKey(), k -> new LogLinearHistogram()).addAll(histogram.getBandwidth());
+            double[] sum = sums.computeIfAbsent(histogram.getKey(), k -> new double[2]);
+            sum[0] += histogram.getLatencySum();
+            sum[1] += histogram.getBandwidthSum();
+        }
+
+        List<String> labels = new ArrayList<>(latencies.keySet());
+        Map<String, List<Object>> latencySeries = new LinkedHashMap<>();
+        Map<String, List<Object>> bandwidthSeries = new LinkedHashMap<>();
+        for (String name : QUANTILE_NAMES) {
+            latencySeries.put(name, new ArrayList<>());
+            bandwidthSeries.put(name, new ArrayList<>());
+        }
+        List<Object> counts = new ArrayList<>();
+        List<Object> meanLatency = new ArrayList<>();
+        List<Object> meanBandwidth = new ArrayList<>();
+        for (String key : labels) {
+            LogLinearHistogram latency = latencies.get(key);
+            LogLinearHistogram bandwidth = bandwidths.get(key);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                latencySeries.get(QUANTILE_NAMES[i]).add(latency.valueAt(QUANTILES[i]));
+                bandwidthSeries.get(QUANTILE_NAMES[i]).add(bandwidth.valueAt(QUANTILES[i]));
+            }
+            long count = latency.getTotalCount();
+            counts.add(count);
+            meanLatency.add(count > 0 ? sums.get(key)[0] / count : 0);
+            meanBandwidth.add(count > 0 ? sums.get(key)[1] / count : 0);
+        }
+
+        String title = DEVICE.equals(dim) ? "Latency by Device (ms)" : "Latency by Network Slice (ms)";
+        AnalyticsData qos = new AnalyticsData("bar", title, labels, latencySeries.get("p95"));
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("series", latencySeries);
+        options.put("bandwidth", bandwidthSeries);
+        options.put("count", counts);
+        options.put("meanLatency", meanLatency);
+        options.put("meanBandwidth", meanBandwidth);
+        options.put("resolution", resolution);
+        qos.setOptions(options);
+        return qos;
+    }
+
+    /**
+     * Builds the histograms from the stored transactions when the store is empty,
+     * e.g. on the first start after upgrading an existing database.
+     */
+    public void initializeHistograms() {
+        if (histogramRepository.count() > 0) {
+            return;
+        }
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        histogramRepository.deleteAll();
+        Query query = Query.query(Criteria.where("eventTime").ne(null));
+        query.fields().include("eventTime", "latency", "bandwidth", "networkSliceId", "deviceUsed");
+
+        Map<String, QosHistogram> histograms = new HashMap<>();
+        Instant hourCutoff = Instant.now().minus(hourRetention);
+        try (Stream<Transaction> cursor = mongoTemplate.stream(query, Transaction.class)) {
+            Iterator<Transaction> it = cursor.iterator();
+            while (it.hasNext()) {
+                accumulate(histograms, it.next(), hourCutoff);
+            }
+        }
+        if (!histograms.isEmpty()) {
+            upsert(histograms.values());
+            log.info("Rebuilt {} network QoS histograms", histograms.size());
+        }
+    }
+
+    private void accumulate(Map<String, QosHistogram> histograms, Transaction txn, Instant hourCutoff) {
+        Instant eventTime = txn.getEventTime();
+        if (eventTime == null) {
+            return;
+        }
+
+        int latencyBucket = LogLinearHistogram.bucketOf(txn.getLatency());
+        int bandwidthBucket = LogLinearHistogram.bucketOf(txn.getBandwidth());
+        for (RollupResolution resolution : List.of(RollupResolution.HOUR, RollupResolution.DAY)) {
+            Instant bucketStart = resolution.truncate(eventTime);
+            if (resolution == RollupResolution.HOUR && bucketStart.isBefore(hourCutoff)) {
+                continue; // would expire immediately
+            }
+            add(histograms, resolution, SLICE, AnalyticsAccumulator.keyOf(txn.getNetworkSliceId()), bucketStart,
+                    txn, latencyBucket, bandwidthBucket);
+            add(histograms, resolution, DEVICE, AnalyticsAccumulator.keyOf(txn.getDeviceUsed()), bucketStart,
+                    txn, latencyBucket, bandwidthBucket);
+        }
+    }
+
+    private static void add(Map<String, QosHistogram> histograms, RollupResolution resolution, String dimension,
+                            String key, Instant bucketStart, Transaction txn, int latencyBucket, int bandwidthBucket) {
+        histograms.computeIfAbsent(QosHistogram.idFor(resolution, dimension, key, bucketStart),
+                        id -> new QosHistogram(resolution, dimension, key, bucketStart))
+                .add(txn.getLatency(), latencyBucket, txn.getBandwidth(), bandwidthBucket);
+    }
+
+    private void upsert(Iterable<QosHistogram> deltas) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QosHistogram.class);
+        for (QosHistogram delta : deltas) {
+            Update update = new Update()
+                    .setOnInsert("resolution", delta.getResolution())
+                    .setOnInsert("dimension", delta.getDimension())
+                    .setOnInsert("key", delta.getKey())
+                    .setOnInsert("bucketStart", delta.getBucketStart())
+                    .inc("count", delta.getCount())
+                    .inc("latencySum", delta.getLatencySum())
+                    .inc("bandwidthSum", delta.getBandwidthSum());
+            delta.getLatency().forEach((bucket, count) -> update.inc("latency." + bucket, count));
+            delta.getBandwidth().forEach((bucket, count) -> update.inc("bandwidth." + bucket, count));
+            if (delta.getResolution() == RollupResolution.HOUR) {
+                update.setOnInsert("expiresAt", delta.getBucketStart().plus(hourRetention));
+            }
+            ops.upsert(Query.query(Criteria.where("_id").is(delta.getId())), update);
+        }
+        ops.execute();
+    }
+}
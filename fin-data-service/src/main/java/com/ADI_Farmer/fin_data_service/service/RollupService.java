@@ -0,0 +1,206 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestListener;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.RollupResolution;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.ADI_Farmer.fin_data_service.model.TrendRollup;
+import com.ADI_Farmer.fin_data_service.repository.TrendRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Maintains minute, hour and day rollups of transaction amounts (count, sum, min,
+ * max and fraud count per bucket) and serves the trend chart from the finest
+ * resolution whose buckets fit the requested window in the point budget.
+ */
+@Service
+public class RollupService implements IngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    @Autowired
+    private TrendRollupRepository rollupRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${analytics.rollup.minute-retention:2d}")
+    private Duration minuteRetention;
+
+    @Value("${analytics.trend.max-points:120}")
+    private int defaultMaxPoints;
+
+    @Override
+    public void onBatchPersisted(List<Transaction> batch) {
+        Map<String, TrendRollup> deltas = new LinkedHashMap<>();
+        Instant minuteCutoff = Instant.now().minus(minuteRetention);
+        for (Transaction txn : batch) {
+            accumulate(deltas, txn, minuteCutoff);
+        }
+        if (!deltas.isEmpty()) {
+            upsert(deltas.values());
+        }
+    }
+
+    public AnalyticsData getTrend(String timeRange) {
+        return getTrend(timeRange, defaultMaxPoints);
+    }
+
+    public AnalyticsData getTrend(String timeRange, int maxPoints) {
+        TimeRange range = TimeRange.fromCode(timeRange);
+        RollupResolution resolution = RollupResolution.forWindow(range.getLength(), maxPoints);
+        if (resolution == RollupResolution.MINUTE && range.getLength().compareTo(minuteRetention) > 0) {
+            resolution = RollupResolution.HOUR; // older minute buckets have expired
+        }
+
+        List<TrendRollup> rollups = range.isAll()
+                ? rollupRepository.findByResolutionOrderByBucketStart(resolution)
+                : rollupRepository.findByResolutionAndBucketStartGreaterThanEqualOrderByBucketStart(
+                        resolution, resolution.truncate(range.since(Instant.now())));
+        long bucketsPerPoint = bucketsPerPoint(rollups, resolution, maxPoints);
+        if (bucketsPerPoint > 1) {
+            rollups = coarsen(rollups, resolution, bucketsPerPoint); // the all-time trend has a bucket per day
+        }
+
+        List<String> labels = new ArrayList<>();
+        List<Object> data = new ArrayList<>();
+        List<Object> counts = new ArrayList<>();
+        List<Object> mins = new ArrayList<>();
+        List<Object> maxes = new ArrayList<>();
+        List<Object> fraudCounts = new ArrayList<>();
+        for (TrendRollup rollup : rollups) {
+            labels.add(resolution.label(rollup.getBucketStart()));
+            data.add(rollup.getSum());
+            counts.add(rollup.getCount());
+            mins.add(rollup.getMin());
+            maxes.add(rollup.getMax());
+            fraudCounts.add(rollup.getFraudCount());
+        }
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("resolution", resolution);
+        options.put("bucketsPerPoint", bucketsPerPoint);
+        options.put("count", counts);
+        options.put("min", mins);
+        options.put("max", maxes);
+        options.put("fraudCount", fraudCounts);
+
+        AnalyticsData trend = new AnalyticsData("line", "Transaction Amount Trend", labels, data);
+        trend.setOptions(options);
+        return trend;
+    }
+
+    // Buckets merged into each point so that the span from first to last bucket fits maxPoints
+    static long bucketsPerPoint(List<TrendRollup> rollups, RollupResolution resolution, int maxPoints) {
+        if (rollups.size() <= maxPoints) {
+            return 1;
+        }
+        Duration span = Duration.between(rollups.get(0).getBucketStart(), rollups.get(rollups.size() - 1).getBucketStart());
+        long buckets = span.dividedBy(resolution.getWidth()) + 1;
+        return (buckets + maxPoints - 1) / maxPoints;
+    }
+
+    /** Merges ordered buckets into points of {@code bucketsPerPoint} buckets, counted from the first one. */
+    static List<TrendRollup> coarsen(List<TrendRollup> rollups, RollupResolution resolution, long bucketsPerPoint) {
+        Instant first = rollups.get(0).getBucketStart();
+        Duration width = resolution.getWidth().multipliedBy(bucketsPerPoint);
+        List<TrendRollup> points = new ArrayList<>();
+        TrendRollup point = null;
+        for (TrendRollup rollup : rollups) {
+            Instant start = first.plus(width.multipliedBy(Duration.between(first, rollup.getBucketStart()).dividedBy(width)));
+            if (point == null || !point.getBucketStart().equals(start)) {
+                point = new TrendRollup(resolution, start);
+                points.add(point);
+            }
+            point.merge(rollup);
+        }
+        return points;
+    }
+
+    /**
+     * Builds the rollups from the stored transactions when the store is empty, e.g.
+     * on the first start after upgrading an existing database.
+     */
+    public void initializeRollups() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        rollupRepository.deleteAll();
+        Query query = Query.query(Criteria.where("eventTime").ne(null));
+        query.fields().include("eventTime", "amount", "fraudFlag");
+
+        Map<String, TrendRollup> rollups = new HashMap<>();
+        Instant minuteCutoff = Instant.now().minus(minuteRetention);
+        try (Stream<Transaction> cursor = mongoTemplate.stream(query, Transaction.class)) {
+            Iterator<Transaction> it = cursor.iterator();
+            while (it.hasNext()) {
+                accumulate(rollups, it.next(), minuteCutoff);
+            }
+        }
+        if (!rollups.isEmpty()) {
+            upsert(rollups.values());
+            log.info("Rebuilt {} trend rollups", rollups.size());
+        }
+    }
+
+    private void accumulate(Map<String, TrendRollup> rollups, Transaction txn, Instant minuteCutoff) {
+        Instant eventTime = txn.getEventTime();
+        if (eventTime == null) {
+            return;
+        }
+
+        for (RollupResolution resolution : RollupResolution.values()) {
+            Instant bucketStart = resolution.truncate(eventTime);
+            if (resolution == RollupResolution.MINUTE && bucketStart.isBefore(minuteCutoff)) {
+                continue; // would expire immediately
+            }
+            rollups.computeIfAbsent(TrendRollup.idFor(resolution, bucketStart),
+                    id -> new TrendRollup(resolution, bucketStart))
+                    .add(txn.getAmount(), txn.isFraudFlag());
+        }
+    }
+
+    private void upsert(Iterable<TrendRollup> deltas) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrendRollup.class);
+        for (TrendRollup delta : deltas) {
+            Update update = new Update()
+                    .setOnInsert("resolution", delta.getResolution())
+                    .setOnInsert("bucketStart", delta.getBucketStart())
+                    .inc("count", delta.getCount())
+                    .inc("sum", delta.getSum())
+                    .inc("fraudCount", delta.getFraudCount())
+                    .min("min", delta.getMin())
+                    .max("max", delta.getMax());
+            if (delta.getResolution() == RollupResolution.MINUTE) {
+                update.setOnInsert("expiresAt", delta.getBucketStart().plus(minuteRetention));
+            }
+            ops.upsert(Query.query(Criteria.where("_id").is(delta.getId())), update);
+        }
+        ops.execute();
+    }
+}
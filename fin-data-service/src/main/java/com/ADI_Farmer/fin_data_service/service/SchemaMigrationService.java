@@ -0,0 +1,169 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.AggregateBucket;
+import com.ADI_Farmer.fin_data_service.model.QosHistogram;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import com.ADI_Farmer.fin_data_service.model.TrendRollup;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts transactions stored in the original layout (long field names, string
+ * coordinates, a {@code _class} hint per document) to the compact one in place. The
+ * rewrite is a single server-side pipeline update, so documents never travel to the
+ * application; already-migrated documents do not match and are left alone.
+ * <p>
+ * Also owns the unique transactionId index, which cannot be declared on the entity:
+ * databases loaded before it existed may hold repeated ids, and those have to be
+ * removed before the index can be built.
+ */
+@Service
+public class SchemaMigrationService {
+
+    // Original field name -> short persisted name
+    static final Map<String, String> TRANSACTION_FIELDS = new LinkedHashMap<>();
+
+    static {
+        TRANSACTION_FIELDS.put("transactionId", "tid");
+        TRANSACTION_FIELDS.put("senderAccountId", "snd");
+        TRANSACTION_FIELDS.put("receiverAccountId", "rcv");
+        TRANSACTION_FIELDS.put("amount", "amt");
+        TRANSACTION_FIELDS.put("type", "typ");
+        TRANSACTION_FIELDS.put("timestamp", "ts");
+        TRANSACTION_FIELDS.put("eventTime", "et");
+        TRANSACTION_FIELDS.put("status", "st");
+        TRANSACTION_FIELDS.put("fraudFlag", "ff");
+        TRANSACTION_FIELDS.put("latitude", "lat");
+        TRANSACTION_FIELDS.put("longitude", "lon");
+        TRANSACTION_FIELDS.put("deviceUsed", "dev");
+        TRANSACTION_FIELDS.put("networkSliceId", "slc");
+        TRANSACTION_FIELDS.put("latency", "lcy");
+        TRANSACTION_FIELDS.put("bandwidth", "bw");
+        TRANSACTION_FIELDS.put("pinCode", "pin");
+    }
+
+    private static final List<String> COORDINATES = List.of("latitude", "longitude");
+
+    static final String TRANSACTION_ID_INDEX = "tid_unique";
+    private static final int DELETE_BATCH = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /** Returns the number of documents rewritten. */
+    public long migrateTransactions() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(Transaction.class));
+        dropLegacyIndexes(collection);
+
+        List<Document> legacy = new ArrayList<>();
+        Document renames = new Document();
+        for (Map.Entry<String, String> field : TRANSACTION_FIELDS.entrySet()) {
+            legacy.add(new Document(field.getKey(), new Document("$exists", true)));
+            renames.append(field.getValue(), COORDINATES.contains(field.getKey())
+                    ? toDouble("$" + field.getKey())
+                    : "$" + field.getKey());
+        }
+        List<String> removed = new ArrayList<>(TRANSACTION_FIELDS.keySet());
+        removed.add("_class");
+
+        // A $set from a missing field leaves the target unset, so sparse documents stay sparse
+        UpdateResult result = collection.updateMany(new Document("$or", legacy), List.of(
+                new Document("$set", renames),
+                new Document("$unset", removed)));
+        return result.getModifiedCount();
+    }
+
+    /**
+     * Clears blank transactionIds, which identify nothing, then keeps the oldest
+     * document per transactionId and builds the unique index.
+     * Aggregates, rollups and QoS histograms counted the removed copies, so they are
+     * dropped to be rebuilt at startup. Returns the number of documents removed.
+     */
+    public long deduplicateTransactions() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(Transaction.class));
+        collection.updateMany(new Document("tid", ""), new Document("$unset", new Document("tid", "")));
+        for (Document index : collection.listIndexes()) {
+            if (TRANSACTION_ID_INDEX.equals(index.getString("name"))) {
+                return 0;
+            }
+        }
+        collection.updateMany(new Document("tid", new Document("$regex", "^\\s*$")),
+                new Document("$unset", new Document("tid", "")));
+
+        long removed = 0;
+        List<Object> extras = new ArrayList<>(DELETE_BATCH);
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("tid", new Document("$type", "string"))),
+                new Document("$group", new Document("_id", "$tid")
+                        .append("first", new Document("$min", "$_id"))
+                        .append("ids", new Document("$push", "$_id"))
+                        .append("n", new Document("$sum", 1))),
+                new Document("$match", new Document("n", new Document("$gt", 1))));
+        try (MongoCursor<Document> cursor = collection.aggregate(pipeline).allowDiskUse(true).iterator()) {
+            while (cursor.hasNext()) {
+                Document group = cursor.next();
+                for (Object id : group.getList("ids", Object.class)) {
+                    if (!id.equals(group.get("first"))) {
+                        extras.add(id);
+                    }
+                }
+                if (extras.size() >= DELETE_BATCH) {
+                    removed += delete(collection, extras);
+                }
+            }
+        }
+        removed += delete(collection, extras);
+
+        // Rows without a transactionId cannot be deduplicated and stay outside the index
+        collection.createIndex(new Document("tid", 1), new IndexOptions()
+                .name(TRANSACTION_ID_INDEX)
+                .unique(true)
+                .partialFilterExpression(new Document("tid", new Document("$type", "string"))));
+
+        if (removed > 0) {
+            mongoTemplate.dropCollection(AggregateBucket.class);
+            mongoTemplate.dropCollection(TrendRollup.class);
+            mongoTemplate.dropCollection(QosHistogram.class);
+        }
+        return removed;
+    }
+
+    private static long delete(MongoCollection<Document> collection, List<Object> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long deleted = collection.deleteMany(new Document("_id", new Document("$in", ids))).getDeletedCount();
+        ids.clear();
+        return deleted;
+    }
+
+    // Indexes keyed on the original names would otherwise be maintained for nothing
+    private void dropLegacyIndexes(MongoCollection<Document> collection) {
+        for (Document index : collection.listIndexes()) {
+            Document key = index.get("key", Document.class);
+            if (key.keySet().stream().anyMatch(TRANSACTION_FIELDS::containsKey)) {
+                collection.dropIndex(index.getString("name"));
+            }
+        }
+    }
+
+    private static Document toDouble(String field) {
+        return new Document("$convert", new Document("input", field)
+                .append("to", "double")
+                .append("onError", null)
+                .append("onNull", null));
+    }
+}
@@ -0,0 +1,145 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving summary: at most {@code capacity} monitored keys with their counts.
+ * A new key replaces the one with the smallest count and inherits that count as its
+ * possible over-estimate, so every key seen more than {@code total / capacity} times is
+ * guaranteed to be monitored. The counters sit in a min-heap that tracks each one's
+ * position, making an update O(log capacity). Not thread-safe.
+ */
+public class SpaceSaving {
+
+    /** A monitored key: count over-estimates the true count by at most error. */
+    public static final class Counter {
+        private String key;
+        private long count;
+        private long error;
+        private double amount; // summed while monitored
+        private int position;
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+    }
+
+    private final int capacity;
+    private final Counter[] heap;
+    private final Map<String, Counter> monitored;
+    private int size;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.heap = new Counter[capacity];
+        this.monitored = new HashMap<>(capacity * 2);
+    }
+
+    public void offer(String key, double amount) {
+        Counter counter = monitored.get(key);
+        boolean added = false;
+        if (counter == null) {
+            if (size < capacity) {
+                counter = new Counter();
+                counter.position = size;
+                heap[size++] = counter;
+                added = true;
+            } else {
+                counter = heap[0];
+                monitored.remove(counter.key);
+                counter.error = counter.count;
+                counter.amount = 0;
+            }
+            counter.key = key;
+            monitored.put(key, counter);
+        }
+        counter.count++;
+        counter.amount += amount;
+        if (added) {
+            siftUp(counter.position);
+        } else {
+            siftDown(counter.position);
+        }
+    }
+
+    public Counter get(String key) {
+        return monitored.get(key);
+    }
+
+    /** The largest count an unmonitored key can have: 0 until a key has been evicted. */
+    public long minCount() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+
+    public List<Counter> counters() {
+        List<Counter> counters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            counters.add(heap[i]);
+        }
+        return counters;
+    }
+
+    public void clear() {
+        monitored.clear();
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    // A new leaf holds the smallest possible count
+    private void siftUp(int position) {
+        Counter counter = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            heap[position] = heap[parent];
+            heap[position].position = position;
+            position = parent;
+        }
+        heap[position] = counter;
+        counter.position = position;
+    }
+
+    // Counts only grow, so a changed counter can only move away from the root
+    private void siftDown(int position) {
+        Counter counter = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (heap[child].count >= counter.count) {
+                break;
+            }
+            heap[position] = heap[child];
+            heap[position].position = position;
+            position = child;
+        }
+        heap[position] = counter;
+        counter.position = position;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+/**
+ * A store cannot serve the request yet: it is still loading at startup, or it is
+ * disabled by configuration. The API reports it as 503 Service Unavailable.
+ */
+public class StoreUnavailableException extends RuntimeException {
+
+    public StoreUnavailableException(String message) {
+        super(message);
+    }
+}
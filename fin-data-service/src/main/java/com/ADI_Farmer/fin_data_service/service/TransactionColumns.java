@@ -0,0 +1,185 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.AggregateBucket;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The analytics-relevant part of every transaction held as primitive columns: amounts
+ * and event times as arrays, the categorical fields dictionary-encoded to int codes
+ * and the fraud flag as a bit set, about 36 bytes a row. Aggregating is one loop over
+ * the arrays into per-code counters. Appends take a write lock, scans a read lock.
+ */
+public class TransactionColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final Dictionary types = new Dictionary();
+    private final Dictionary statuses = new Dictionary();
+    private final Dictionary devices = new Dictionary();
+    private final Dictionary riskBands = new Dictionary();
+
+    private double[] amounts = new double[INITIAL_CAPACITY];
+    private int[] typeCodes = new int[INITIAL_CAPACITY];
+    private int[] statusCodes = new int[INITIAL_CAPACITY];
+    private int[] deviceCodes = new int[INITIAL_CAPACITY];
+    private int[] riskCodes = new int[INITIAL_CAPACITY];
+    private long[] eventTimes = new long[INITIAL_CAPACITY];
+    private final BitSet fraudFlags = new BitSet();
+    private int size;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void append(List<Transaction> batch) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + batch.size());
+            for (Transaction txn : batch) {
+                amounts[size] = txn.getAmount();
+                typeCodes[size] = types.encode(AnalyticsAccumulator.keyOf(txn.getType()));
+                statusCodes[size] = statuses.encode(AnalyticsAccumulator.keyOf(txn.getStatus()));
+                deviceCodes[size] = devices.encode(AnalyticsAccumulator.keyOf(txn.getDeviceUsed()));
+                riskCodes[size] = riskBands.encode(AnalyticsAccumulator.riskBandOf(txn.getRiskScore()));
+                eventTimes[size] = txn.getEventTime() != null ? txn.getEventTime().toEpochMilli() : NO_TIME;
+                fraudFlags.set(size, txn.isFraudFlag());
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregates every row with an event time at or after {@code since} (all rows,
+     * including those without an event time, when null) into an accumulator holding
+     * the same buckets as the materialized aggregates.
+     */
+    public AnalyticsAccumulator aggregate(Instant since) {
+        long from = since != null ? since.toEpochMilli() : NO_TIME;
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+
+        lock.readLock().lock();
+        try {
+            Counters byType = new Counters(types.size());
+            Counters byStatus = new Counters(statuses.size());
+            Counters byDevice = new Counters(devices.size());
+            Counters byFraud = new Counters(2);  // 0 legitimate, 1 fraudulent
+            Counters byFlag = new Counters(2);   // 0 false, 1 true
+            Counters byRisk = new Counters(riskBands.size());
+            boolean[] atm = devices.matches("ATM");
+
+            for (int i = 0; i < size; i++) {
+                if (eventTimes[i] < from) {
+                    continue;
+                }
+                double amount = amounts[i];
+                boolean flagged = fraudFlags.get(i);
+                byType.add(typeCodes[i], amount);
+                byStatus.add(statusCodes[i], amount);
+                byDevice.add(deviceCodes[i], amount);
+                byFraud.add(flagged && atm[deviceCodes[i]] ? 1 : 0, amount);
+                byFlag.add(flagged ? 1 : 0, amount);
+                byRisk.add(riskCodes[i], amount);
+            }
+
+            byType.drainTo(accumulator, AggregateService.TYPE, types.values);
+            byStatus.drainTo(accumulator, AggregateService.STATUS, statuses.values);
+            byDevice.drainTo(accumulator, AggregateService.DEVICE, devices.values);
+            byFraud.drainTo(accumulator, AggregateService.FRAUD,
+                    List.of(AggregateService.LEGITIMATE, AggregateService.FRAUDULENT));
+            byFlag.drainTo(accumulator, AggregateService.FLAG, List.of("false", "true"));
+            byRisk.drainTo(accumulator, AggregateService.RISK, riskBands.values);
+
+            long count = byFlag.counts[0] + byFlag.counts[1];
+            if (count > 0) {
+                accumulator.accept(new AggregateBucket(AggregateService.TOTAL, AggregateService.TOTAL_KEY,
+                        count, byFlag.sums[0] + byFlag.sums[1]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return accumulator;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= amounts.length) {
+            return;
+        }
+        int capacity = Math.max(required, amounts.length * 2);
+        amounts = Arrays.copyOf(amounts, capacity);
+        typeCodes = Arrays.copyOf(typeCodes, capacity);
+        statusCodes = Arrays.copyOf(statusCodes, capacity);
+        deviceCodes = Arrays.copyOf(deviceCodes, capacity);
+        riskCodes = Arrays.copyOf(riskCodes, capacity);
+        eventTimes = Arrays.copyOf(eventTimes, capacity);
+    }
+
+    private static final class Dictionary {
+        final Map<String, Integer> codes = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        boolean[] matches(String value) {
+            boolean[] matches = new boolean[values.size()];
+            for (int code = 0; code < matches.length; code++) {
+                matches[code] = value.equalsIgnoreCase(values.get(code));
+            }
+            return matches;
+        }
+    }
+
+    private static final class Counters {
+        final long[] counts;
+        final double[] sums;
+
+        Counters(int codes) {
+            counts = new long[codes];
+            sums = new double[codes];
+        }
+
+        void add(int code, double amount) {
+            counts[code]++;
+            sums[code] += amount;
+        }
+
+        void drainTo(AnalyticsAccumulator accumulator, String dimension, List<String> labels) {
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    accumulator.accept(new AggregateBucket(dimension, labels.get(code), counts[code], sums[code]));
+                }
+            }
+        }
+    }
+}
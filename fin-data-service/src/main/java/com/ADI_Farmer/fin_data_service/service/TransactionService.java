@@ -1,160 +1,158 @@
 package com.ADI_Farmer.fin_data_service.service;
 
+import com.ADI_Farmer.fin_data_service.ingestion.CsvTransactionSource;
+import com.ADI_Farmer.fin_data_service.ingestion.EventTimes;
+import com.ADI_Farmer.fin_data_service.ingestion.JsonTransactionSource;
+import com.ADI_Farmer.fin_data_service.model.IngestJob;
+import com.ADI_Farmer.fin_data_service.model.TimeRange;
 import com.ADI_Farmer.fin_data_service.model.Transaction;
 import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsSnapshot;
+import com.ADI_Farmer.fin_data_service.model.TransactionFilter;
+import com.ADI_Farmer.fin_data_service.model.TransactionPage;
 import com.ADI_Farmer.fin_data_service.repository.TransactionRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvValidationException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class TransactionService {
 
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+
+    private static final int BACKFILL_BATCH = 1000;
+
     @Autowired
     private TransactionRepository repository;
 
-    public List<Transaction> loadCSV(String filePath) throws IOException, CsvValidationException {
-        List<Transaction> transactions = new ArrayList<>();
+    @Autowired
+    private AggregateService aggregateService;
 
-        try (CSVReader reader = new CSVReader(new FileReader(filePath))) {
-            String[] header = reader.readNext(); // skip header
-            String[] line;
+    @Autowired
+    private RollupService rollupService;
 
-            while ((line = reader.readNext()) != null) {
-                if (line.length < 15) {
-                    System.err.println("Skipping malformed line (expected 15 fields): " + String.join(",", line));
-                    continue;
-                }
+    @Autowired
+    private ColumnarAnalyticsService columnarAnalytics;
 
-                try {
-                    Transaction txn = new Transaction();
-                    txn.setTransactionId(line[0].trim());
-                    txn.setSenderAccountId(line[1].trim());
-                    txn.setReceiverAccountId(line[2].trim());
-                    txn.setAmount(Double.parseDouble(line[3].trim()));
-                    txn.setType(line[4].trim());
-                    txn.setTimestamp(line[5].trim());
-                    txn.setStatus(line[6].trim());
-                    txn.setFraudFlag(Boolean.parseBoolean(line[7].trim()));
-
-                    txn.setLatitude(line[8].trim());
-                    txn.setLongitude(line[9].trim());
-
-                    txn.setDeviceUsed(line[10].trim());
-                    txn.setNetworkSliceId(line[11].trim());
-                    txn.setLatency(Integer.parseInt(line[12].trim()));
-                    txn.setBandwidth(Integer.parseInt(line[13].trim()));
-                    txn.setPinCode(Integer.parseInt(line[14].trim()));
-
-                    transactions.add(txn);
-                } catch (Exception e) {
-                    System.err.println("Error parsing line: " + String.join(",", line));
-                    e.printStackTrace();
-                }
-            }
+    @Autowired
+    private DistinctCountService distinctCounts;
 
-            repository.saveAll(transactions);
-        }
+    @Autowired
+    private NetworkQosService networkQos;
 
-        return transactions;
-    }
+    @Autowired
+    private HeavyHitterService heavyHitters;
 
-    public List<Transaction> loadCSVFromFile(MultipartFile file) throws IOException, CsvValidationException {
-        List<Transaction> transactions = new ArrayList<>();
+    @Autowired
+    private IngestJobService jobService;
 
-        try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-            String[] header = reader.readNext();
-            String[] line;
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
-            while ((line = reader.readNext()) != null) {
-                if (line.length < 15) {
-                    System.err.println("Skipping malformed line (expected 15 fields): " + String.join(",", line));
-                    continue;
-                }
+    @Autowired
+    private ObjectMapper objectMapper;
 
-                try {
-                    Transaction txn = new Transaction();
-                    txn.setTransactionId(line[0].trim());
-                    txn.setSenderAccountId(line[1].trim());
-                    txn.setReceiverAccountId(line[2].trim());
-                    txn.setAmount(Double.parseDouble(line[3].trim()));
-                    txn.setType(line[4].trim());
-                    txn.setTimestamp(line[5].trim());
-                    txn.setStatus(line[6].trim());
-                    txn.setFraudFlag(Boolean.parseBoolean(line[7].trim()));
-
-                    txn.setLatitude(line[8].trim());
-                    txn.setLongitude(line[9].trim());
-
-                    txn.setDeviceUsed(line[10].trim());
-                    txn.setNetworkSliceId(line[11].trim());
-                    txn.setLatency(Integer.parseInt(line[12].trim()));
-                    txn.setBandwidth(Integer.parseInt(line[13].trim()));
-                    txn.setPinCode(Integer.parseInt(line[14].trim()));
-
-                    transactions.add(txn);
-                } catch (Exception e) {
-                    System.err.println("Error parsing line: " + String.join(",", line));
-                    e.printStackTrace();
-                }
-            }
+    // Loads run as background jobs; uploads are spooled to a temp file first because
+    // the multipart data is discarded when the request completes
+    public IngestJob loadCSV(String filePath) {
+        requireFile(filePath);
+        return jobService.submit(filePath, () -> CsvTransactionSource.fromPath(filePath), () -> { });
+    }
 
-            repository.saveAll(transactions);
-        }
+    public IngestJob loadCSVFromFile(MultipartFile file) throws IOException {
+        String name = file.getOriginalFilename();
+        Path copy = spool(file);
+        return jobService.submit(name,
+                () -> new CsvTransactionSource(name, new InputStreamReader(Files.newInputStream(copy))),
+                () -> deleteSpool(copy));
+    }
 
-        return transactions;
+    public IngestJob loadJSON(String filePath) {
+        requireFile(filePath);
+        return jobService.submit(filePath, () -> JsonTransactionSource.fromPath(filePath), () -> { });
     }
 
-    public List<Transaction> loadJSON(String filePath) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        File jsonFile = new File(filePath);
+    public IngestJob loadJSONFromFile(MultipartFile file) throws IOException {
+        String name = file.getOriginalFilename();
+        Path copy = spool(file);
+        return jobService.submit(name,
+                () -> new JsonTransactionSource(name, Files.newInputStream(copy)),
+                () -> deleteSpool(copy));
+    }
 
-        if (!jsonFile.exists() || !jsonFile.isFile()) {
-            throw new IOException("File not cfound: " + filePath);
+    private static void requireFile(String filePath) {
+        if (filePath == null || !Files.isRegularFile(Path.of(filePath))) {
+            throw new IllegalArgumentException("File not found: " + filePath);
         }
+    }
+
+    private static Path spool(MultipartFile file) throws IOException {
+        Path copy = Files.createTempFile("ingest-", ".upload");
+        file.transferTo(copy);
+        return copy;
+    }
 
+    private static void deleteSpool(Path copy) {
         try {
-            List<Transaction> transactions = mapper.readValue(
-                    jsonFile,
-                    new TypeReference<List<Transaction>>() {
-                    });
-            repository.saveAll(transactions);
-            return transactions;
-        } catch (Exception e) {
-            System.err.println("Error parsing JSON file: " + e.getMessage());
-            e.printStackTrace();
-            return new ArrayList<>();
+            Files.deleteIfExists(copy);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", copy, e);
         }
     }
 
-    public List<Transaction> loadJSONFromFile(MultipartFile file) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-
-        try {
-            List<Transaction> transactions = mapper.readValue(
-                    file.getInputStream(),
-                    new TypeReference<List<Transaction>>() {
-                    });
-            repository.saveAll(transactions);
-            return transactions;
-        } catch (Exception e) {
-            System.err.println("Error parsing JSON file: " + e.getMessage());
-            e.printStackTrace();
-            return new ArrayList<>();
+    /**
+     * Parses eventTime for documents stored before it existed, using the same rules
+     * as ingestion. Unparseable timestamps are stored as null so they are not
+     * revisited on the next start.
+     */
+    public long backfillEventTimes() {
+        Query missing = Query.query(Criteria.where("eventTime").exists(false));
+        missing.fields().include("timestamp");
+
+        long updated = 0;
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class);
+        int pending = 0;
+        try (Stream<Transaction> cursor = mongoTemplate.stream(missing, Transaction.class)) {
+            Iterator<Transaction> it = cursor.iterator();
+            while (it.hasNext()) {
+                Transaction txn = it.next();
+                ops.updateOne(Query.query(Criteria.where("_id").is(new ObjectId(txn.getId()))),
+                        Update.update("eventTime", EventTimes.parse(txn.getTimestamp())));
+                if (++pending == BACKFILL_BATCH) {
+                    ops.execute();
+                    updated += pending;
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class);
+                    pending = 0;
+                }
+            }
         }
+        if (pending > 0) {
+            ops.execute();
+            updated += pending;
+        }
+        return updated;
     }
 
     public List<Transaction> getAllTransactions() {
@@ -162,110 +160,214 @@ public class TransactionService {
     }
 
     public List<Transaction> getTransactionsForDashboard(String status, String type) {
-        if (status != null) {
-            return repository.findByStatus(status);
-        }
-        if (type != null) {
-            return repository.findByType(type);
+        TransactionFilter filter = new TransactionFilter();
+        filter.setStatus(status);
+        filter.setType(type);
+        return mongoTemplate.find(filterQuery(filter), Transaction.class);
+    }
+
+    /**
+     * Keyset pagination on _id: each page seeks past the last id of the previous one,
+     * so deep pages cost the same as the first.
+     */
+    public TransactionPage getTransactionPage(String after, int size, TransactionFilter filter) {
+        Query query = filterQuery(filter);
+        if (after != null) {
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(after)));
         }
-        return repository.findAll();
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(size);
+
+        List<Transaction> items = mongoTemplate.find(query, Transaction.class);
+        String nextToken = items.size() == size ? items.get(items.size() - 1).getId() : null;
+        return new TransactionPage(items, nextToken);
     }
 
-    // Analytics Methods for Dashboard
-    public AnalyticsData getTransactionAmountByType() {
-        List<Transaction> transactions = repository.findAll();
+    /**
+     * Writes matching transactions as NDJSON straight from a Mongo cursor, one
+     * document at a time.
+     */
+    public void streamTransactions(TransactionFilter filter, OutputStream out) throws IOException {
+        Query query = filterQuery(filter).with(Sort.by(Sort.Direction.ASC, "_id"));
+
+        try (Stream<Transaction> cursor = mongoTemplate.stream(query, Transaction.class);
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            Iterator<Transaction> it = cursor.iterator();
+            while (it.hasNext()) {
+                writer.write(it.next());
+            }
+            out.write('\n');
+        }
+    }
 
-        Map<String, Double> amountByType = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getType,
-                        Collectors.summingDouble(Transaction::getAmount)));
+    // Query plan for the first page of a filter, to confirm which index serves it
+    public Document explainFilter(TransactionFilter filter) {
+        return repository.explain(filterQuery(filter).with(Sort.by(Sort.Direction.ASC, "_id")));
+    }
 
-        List<String> labels = new ArrayList<>(amountByType.keySet());
-        List<Object> data = new ArrayList<>(amountByType.values());
+    private Query filterQuery(TransactionFilter filter) {
+        Query query = new Query();
+        if (filter.getStatus() != null) {
+            query.addCriteria(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (filter.getType() != null) {
+            query.addCriteria(Criteria.where("type").is(filter.getType()));
+        }
+        if (filter.getDeviceUsed() != null) {
+            query.addCriteria(Criteria.where("deviceUsed").is(filter.getDeviceUsed()));
+        }
+        if (filter.getFraudFlag() != null) {
+            query.addCriteria(Criteria.where("fraudFlag").is(filter.getFraudFlag()));
+        }
+        if (filter.getSenderAccountId() != null) {
+            query.addCriteria(Criteria.where("senderAccountId").is(filter.getSenderAccountId()));
+        }
+        if (filter.getReceiverAccountId() != null) {
+            query.addCriteria(Criteria.where("receiverAccountId").is(filter.getReceiverAccountId()));
+        }
+        if (filter.getMinAmount() != null || filter.getMaxAmount() != null) {
+            Criteria amount = Criteria.where("amount");
+            if (filter.getMinAmount() != null) {
+                amount = amount.gte(filter.getMinAmount());
+            }
+            if (filter.getMaxAmount() != null) {
+                amount = amount.lte(filter.getMaxAmount());
+            }
+            query.addCriteria(amount);
+        }
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            Criteria time = Criteria.where("eventTime");
+            if (filter.getFrom() != null) {
+                time = time.gte(requireTime(filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                time = time.lt(requireTime(filter.getTo()));
+            }
+            query.addCriteria(time);
+        }
+        return query;
+    }
 
-        return new AnalyticsData("bar", "Transaction Amount by Type", labels, data);
+    private static Instant requireTime(String value) {
+        Instant instant = EventTimes.parse(value);
+        if (instant == null) {
+            throw new IllegalArgumentException("Not an ISO-8601 timestamp: " + value);
+        }
+        return instant;
     }
 
-    public AnalyticsData getTransactionCountByStatus() {
-        List<Transaction> transactions = repository.findAll();
+    // Analytics Methods for Dashboard. With the columnar store enabled every range is an
+    // in-memory scan; otherwise "all" is served from the materialized aggregates and
+    // shorter time ranges scan only the window through the eventTime index.
+    @Timed("analytics")
+    public AnalyticsData getTransactionAmountByType(String timeRange) {
+        return analytics(timeRange, AggregateService.TYPE).amountByType();
+    }
 
-        Map<String, Long> countByStatus = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getStatus,
-                        Collectors.counting()));
+    @Timed("analytics")
+    public AnalyticsData getTransactionCountByStatus(String timeRange) {
+        return analytics(timeRange, AggregateService.STATUS).countByStatus();
+    }
 
-        List<String> labels = new ArrayList<>(countByStatus.keySet());
-        List<Object> data = new ArrayList<>(countByStatus.values());
+    @Timed("analytics")
+    public AnalyticsData getFraudAnalysis(String timeRange) {
+        return analytics(timeRange, AggregateService.FRAUD).fraudAnalysis();
+    }
 
-        return new AnalyticsData("pie", "Transaction Count by Status", labels, data);
+    @Timed("analytics")
+    public AnalyticsData getAmountTrend(String timeRange) {
+        return rollupService.getTrend(timeRange);
     }
 
-    public AnalyticsData getFraudAnalysis() {
-        List<Transaction> transactions = repository.findAll();
+    @Timed("analytics")
+    public AnalyticsData getAmountTrend(String timeRange, int maxPoints) {
+        return rollupService.getTrend(timeRange, maxPoints);
+    }
 
-        long fraudCount = transactions.stream().filter(t -> t.isFraudFlag() && "ATM".equalsIgnoreCase(t.getDeviceUsed())).count();
-        long legitimateCount = transactions.size() - fraudCount;
+    @Timed("analytics")
+    public AnalyticsData getRiskDistribution(String timeRange) {
+        return analytics(timeRange, AggregateService.RISK).riskDistribution();
+    }
 
-        List<String> labels = Arrays.asList("Legitimate", "Fraudulent");
-        List<Object> data = Arrays.asList(legitimateCount, fraudCount);
+    // Latency/bandwidth percentiles per network slice or device, from the QoS histograms
+    @Timed("analytics")
+    public AnalyticsData getNetworkQos(String groupBy, String timeRange) {
+        return networkQos.getNetworkQos(groupBy, timeRange);
+    }
 
-        return new AnalyticsData("doughnut", "Fraud Analysis", labels, data);
+    // Most frequent senders, receivers, pin codes or devices, from the in-memory heavy-hitter windows
+    @Timed("analytics")
+    public AnalyticsData getHeavyHitters(String key, String timeRange, String window, int k) {
+        return heavyHitters.getHeavyHitters(key, timeRange, window, k);
     }
 
-    public AnalyticsData getAmountTrend() {
-        List<Transaction> transactions = repository.findAll();
+    @Timed("analytics")
+    public AnalyticsData getHeavyHitters(String key, String timeRange) {
+        return heavyHitters.getHeavyHitters(key, timeRange, HeavyHitterService.SLIDING);
+    }
 
-        // Group by date (assuming timestamp format is consistent)
-        Map<String, Double> amountByDate = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        txn -> txn.getTimestamp().substring(0, 10), // Get date part
-                        Collectors.summingDouble(Transaction::getAmount)));
+    @Timed("analytics")
+    public AnalyticsData getDeviceUsageAnalysis(String timeRange) {
+        return analytics(timeRange, AggregateService.DEVICE).deviceUsage();
+    }
 
-        // Sort by date
-        List<String> labels = amountByDate.keySet().stream()
-                .sorted()
-                .collect(Collectors.toList());
-        List<Object> data = labels.stream()
-                .map(amountByDate::get)
-                .collect(Collectors.toList());
+    @Timed("analytics")
+    public Map<String, Object> getDashboardSummary(String timeRange) {
+        return summarize(analytics(timeRange, AggregateService.TOTAL, AggregateService.FLAG,
+                AggregateService.DEVICE, AggregateService.TYPE), timeRange);
+    }
 
-        return new AnalyticsData("line", "Transaction Amount Trend", labels, data);
+    // All charts and the summary from a single aggregation pass
+    @Timed("analytics")
+    public AnalyticsSnapshot getAnalyticsSnapshot(String timeRange) {
+        AnalyticsAccumulator accumulator = analytics(timeRange);
+        return new AnalyticsSnapshot(summarize(accumulator, timeRange), charts(accumulator, timeRange));
     }
 
-    public AnalyticsData getDeviceUsageAnalysis() {
-        List<Transaction> transactions = repository.findAll();
+    /**
+     * The accumulator's summary plus the sketch-estimated distinct counts. Devices and
+     * types are few enough to be counted exactly from their groups.
+     */
+    public Map<String, Object> summarize(AnalyticsAccumulator accumulator, String timeRange) {
+        Map<String, Object> summary = accumulator.summary();
+        summary.putAll(distinctCounts.estimates(timeRange));
+        return summary;
+    }
 
-        Map<String, Long> deviceUsage = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getDeviceUsed,
-                        Collectors.counting()));
+    @Timed("analytics")
+    public List<AnalyticsData> getAllAnalytics(String timeRange) {
+        return charts(analytics(timeRange), timeRange);
+    }
 
-        List<String> labels = new ArrayList<>(deviceUsage.keySet());
-        List<Object> data = new ArrayList<>(deviceUsage.values());
+    // The same amount trend as /amount-trend, from the rollups rather than the aggregates
+    private List<AnalyticsData> charts(AnalyticsAccumulator accumulator, String timeRange) {
+        List<AnalyticsData> charts = accumulator.charts();
+        charts.add(rollupService.getTrend(timeRange));
+        return charts;
+    }
 
-        return new AnalyticsData("bar", "Device Usage Analysis", labels, data);
+    // Every dimension for a time range, for callers building several charts from one read
+    @Timed("analytics")
+    public AnalyticsAccumulator getAnalyticsAccumulator(String timeRange) {
+        return analytics(timeRange);
     }
 
-    public Map<String, Object> getDashboardSummary() {
-        List<Transaction> transactions = repository.findAll();
+    private AnalyticsAccumulator analytics(String timeRange, String... dimensions) {
+        if (columnarAnalytics.isReady()) {
+            return columnarAnalytics.analytics(timeRange);
+        }
 
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalTransactions", transactions.size());
-        summary.put("totalAmount", transactions.stream().mapToDouble(Transaction::getAmount).sum());
-        summary.put("fraudCount", transactions.stream().filter(Transaction::isFraudFlag).count());
-        summary.put("uniqueDevices", transactions.stream().map(Transaction::getDeviceUsed).distinct().count());
-        summary.put("uniqueTypes", transactions.stream().map(Transaction::getType).distinct().count());
+        TimeRange range = TimeRange.fromCode(timeRange);
+        if (range.isAll()) {
+            return aggregateService.load(dimensions);
+        }
 
-        return summary;
-    }
+        Query query = Query.query(Criteria.where("eventTime").gte(range.since(Instant.now())));
+        query.fields().include("amount", "type", "status", "deviceUsed", "timestamp", "fraudFlag", "riskScore");
 
-    public List<AnalyticsData> getAllAnalytics() {
-        List<AnalyticsData> analytics = new ArrayList<>();
-        analytics.add(getTransactionAmountByType());
-        analytics.add(getTransactionCountByStatus());
-        analytics.add(getFraudAnalysis());
-        analytics.add(getAmountTrend());
-        analytics.add(getDeviceUsageAnalysis());
-        return analytics;
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        try (Stream<Transaction> window = mongoTemplate.stream(query, Transaction.class)) {
+            window.forEach(accumulator::accept);
+        }
+        return accumulator;
     }
 }
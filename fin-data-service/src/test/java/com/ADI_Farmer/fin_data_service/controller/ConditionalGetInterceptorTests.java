@@ -0,0 +1,85 @@
+package com.ADI_Farmer.fin_data_service.controller;
+
+import com.ADI_Farmer.fin_data_service.ingestion.DataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetInterceptorTests {
+
+	private final AtomicLong version = new AtomicLong();
+	private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor();
+
+	@BeforeEach
+	void setUp() {
+		DataVersion dataVersion = new DataVersion() {
+			@Override
+			public long current() {
+				return version.get();
+			}
+		};
+		ReflectionTestUtils.setField(interceptor, "dataVersion", dataVersion);
+	}
+
+	@Test
+	void answersMatchingETagWithNotModified() {
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		assertThat(interceptor.preHandle(get(null), first, null)).isTrue();
+		String etag = first.getHeader("ETag");
+		assertThat(etag).startsWith("\"").endsWith("\"");
+
+		MockHttpServletRequest revalidate = get(etag);
+		MockHttpServletResponse second = new MockHttpServletResponse();
+		assertThat(interceptor.preHandle(revalidate, second, null)).isFalse();
+		assertThat(second.getStatus()).isEqualTo(304);
+	}
+
+	@Test
+	void newDataInvalidatesETag() {
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		interceptor.preHandle(get(null), first, null);
+
+		version.incrementAndGet();
+		MockHttpServletResponse second = new MockHttpServletResponse();
+		assertThat(interceptor.preHandle(get(first.getHeader("ETag")), second, null)).isTrue();
+		assertThat(second.getStatus()).isEqualTo(200);
+		assertThat(second.getHeader("ETag")).isNotEqualTo(first.getHeader("ETag"));
+	}
+
+	@Test
+	void handlerDefaultTimeRangeKeysTheETagByMinute() throws NoSuchMethodException {
+		HandlerMethod windowed = new HandlerMethod(new WindowedHandler(),
+				WindowedHandler.class.getMethod("topSenders", String.class));
+		MockHttpServletResponse implicit = new MockHttpServletResponse();
+		interceptor.preHandle(new MockHttpServletRequest("GET", "/api/analytics/heavy-hitters"), implicit, windowed);
+		MockHttpServletResponse whole = new MockHttpServletResponse();
+		interceptor.preHandle(get(null), whole, null);
+
+		String versionOnly = whole.getHeader("ETag");
+		assertThat(implicit.getHeader("ETag"))
+				.startsWith(versionOnly.substring(0, versionOnly.length() - 1) + "-")
+				.isNotEqualTo(versionOnly);
+	}
+
+	static class WindowedHandler {
+		public String topSenders(@RequestParam(defaultValue = "24h") String timeRange) {
+			return timeRange;
+		}
+	}
+
+	private static MockHttpServletRequest get(String ifNoneMatch) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/analytics/summary");
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		return request;
+	}
+}
@@ -0,0 +1,29 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventTimesTests {
+
+	@Test
+	void localTimestampsAreUtc() {
+		assertThat(EventTimes.parse("2024-01-15T10:30:00")).isEqualTo(Instant.parse("2024-01-15T10:30:00Z"));
+		assertThat(EventTimes.parse("2024-01-15")).isEqualTo(Instant.parse("2024-01-15T00:00:00Z"));
+	}
+
+	@Test
+	void offsetsAreHonoured() {
+		assertThat(EventTimes.parse("2024-01-15T10:30:00+02:00")).isEqualTo(Instant.parse("2024-01-15T08:30:00Z"));
+		assertThat(EventTimes.parse(" 2024-01-15T10:30:00Z ")).isEqualTo(Instant.parse("2024-01-15T10:30:00Z"));
+	}
+
+	@Test
+	void garbageIsNull() {
+		assertThat(EventTimes.parse(null)).isNull();
+		assertThat(EventTimes.parse("")).isNull();
+		assertThat(EventTimes.parse("yesterday")).isNull();
+	}
+}
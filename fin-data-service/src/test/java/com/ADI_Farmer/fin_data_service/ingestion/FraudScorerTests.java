@@ -0,0 +1,105 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FraudScorerTests {
+
+	private static final Instant START = Instant.parse("2024-01-15T10:00:00Z");
+
+	@Test
+	void velocityRuleFiresWithinTheWindowOnly() {
+		FraudScorer scorer = new FraudScorer(properties(rule("velocity", FraudRuleProperties.Feature.COUNT,
+				Duration.ofMinutes(10), 3, 40)));
+
+		List<Transaction> burst = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			burst.add(txn("ACC1", "ACC" + (10 + i), 100, START.plusSeconds(i * 60)));
+		}
+		Transaction later = txn("ACC1", "ACC10", 100, START.plus(Duration.ofMinutes(30)));
+		Transaction otherSender = txn("ACC2", "ACC10", 100, START.plusSeconds(200));
+		burst.add(later);
+		burst.add(otherSender);
+		scorer.score(burst);
+
+		assertThat(burst.subList(0, 3)).allSatisfy(txn -> assertThat(txn.getRiskScore()).isZero());
+		assertThat(burst.get(3).getRiskScore()).isEqualTo(40);
+		assertThat(burst.get(3).getRiskRules()).containsExactly("velocity");
+		assertThat(later.getRiskScore()).isZero();
+		assertThat(later.getRiskRules()).isNull();
+		assertThat(otherSender.getRiskScore()).isZero();
+	}
+
+	@Test
+	void distinctFeaturesAndWeightsAddUpToTheCap() {
+		FraudScorer scorer = new FraudScorer(properties(
+				rule("fan-out", FraudRuleProperties.Feature.RECEIVERS, Duration.ofHours(1), 2, 60),
+				rule("burst-amount", FraudRuleProperties.Feature.AMOUNT, Duration.ofHours(1), 1000, 30),
+				rule("large-amount", FraudRuleProperties.Feature.TXN_AMOUNT, null, 500, 30)));
+
+		List<Transaction> batch = List.of(
+				txn("ACC1", "ACC10", 400, START),
+				txn("ACC1", "ACC10", 400, START.plusSeconds(60)),
+				txn("ACC1", "ACC11", 400, START.plusSeconds(120)),
+				txn("ACC1", "ACC12", 600, START.plusSeconds(180)));
+		scorer.score(batch);
+
+		assertThat(batch.get(1).getRiskScore()).isZero();
+		assertThat(batch.get(2).getRiskRules()).containsExactly("burst-amount");
+		assertThat(batch.get(3).getRiskRules()).containsExactly("fan-out", "burst-amount", "large-amount");
+		assertThat(batch.get(3).getRiskScore()).isEqualTo(FraudScorer.MAX_SCORE);
+	}
+
+	@Test
+	void onlyRecordedRowsCountTowardLaterBatches() {
+		FraudScorer scorer = new FraudScorer(properties(rule("velocity", FraudRuleProperties.Feature.COUNT,
+				Duration.ofMinutes(10), 2, 40)));
+
+		List<Transaction> lost = List.of(txn("ACC1", "ACC10", 100, START),
+				txn("ACC1", "ACC11", 100, START.plusSeconds(60)));
+		scorer.score(lost); // never stored, e.g. duplicates of rows another run wrote
+
+		Transaction next = txn("ACC1", "ACC12", 100, START.plusSeconds(120));
+		scorer.score(List.of(next));
+		assertThat(next.getRiskScore()).isZero();
+
+		scorer.record(lost);
+		scorer.score(List.of(next));
+		assertThat(next.getRiskRules()).containsExactly("velocity");
+	}
+
+	private static FraudRuleProperties properties(FraudRuleProperties.Rule... rules) {
+		FraudRuleProperties properties = new FraudRuleProperties();
+		properties.setStripes(4);
+		properties.setRules(List.of(rules));
+		return properties;
+	}
+
+	private static FraudRuleProperties.Rule rule(String name, FraudRuleProperties.Feature feature, Duration window,
+			double threshold, int weight) {
+		FraudRuleProperties.Rule rule = new FraudRuleProperties.Rule();
+		rule.setName(name);
+		rule.setFeature(feature);
+		rule.setWindow(window);
+		rule.setThreshold(threshold);
+		rule.setWeight(weight);
+		return rule;
+	}
+
+	private static Transaction txn(String sender, String receiver, double amount, Instant eventTime) {
+		Transaction txn = new Transaction();
+		txn.setSenderAccountId(sender);
+		txn.setReceiverAccountId(receiver);
+		txn.setAmount(amount);
+		txn.setEventTime(eventTime);
+		txn.setPinCode(10001);
+		return txn;
+	}
+}
@@ -0,0 +1,50 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonTransactionSourceTests {
+
+	@Test
+	void readsArrayElementsOneAtATime() throws Exception {
+		String json = "[{\"transactionId\":\"TXN001\",\"amount\":10.5},\n {\"transactionId\":\"TXN002\",\"amount\":3}]";
+
+		List<Transaction> transactions = readAll(json);
+
+		assertThat(transactions).extracting(Transaction::getTransactionId).containsExactly("TXN001", "TXN002");
+		assertThat(transactions.get(0).getAmount()).isEqualTo(10.5);
+	}
+
+	@Test
+	void readsNdjson() throws Exception {
+		String ndjson = "{\"transactionId\":\"TXN001\"}\n{\"transactionId\":\"TXN002\"}\n";
+
+		assertThat(readAll(ndjson)).extracting(Transaction::getTransactionId).containsExactly("TXN001", "TXN002");
+	}
+
+	@Test
+	void rejectsScalarElements() {
+		assertThatThrownBy(() -> readAll("[1, 2]")).isInstanceOf(IOException.class);
+	}
+
+	private static List<Transaction> readAll(String content) throws Exception {
+		List<Transaction> transactions = new ArrayList<>();
+		try (JsonTransactionSource source = new JsonTransactionSource("test",
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))) {
+			RawRecord record;
+			while ((record = source.next()) != null) {
+				transactions.add(source.parse(record));
+			}
+		}
+		return transactions;
+	}
+}
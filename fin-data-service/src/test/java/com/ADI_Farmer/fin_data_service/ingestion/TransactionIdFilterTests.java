@@ -0,0 +1,36 @@
+package com.ADI_Farmer.fin_data_service.ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionIdFilterTests {
+
+	@Test
+	void addedIdsAreAlwaysReported() {
+		TransactionIdFilter filter = new TransactionIdFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("TXN" + i);
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("TXN" + i)).isTrue();
+		}
+	}
+
+	@Test
+	void falsePositivesStayNearTheConfiguredRate() {
+		TransactionIdFilter filter = new TransactionIdFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("TXN" + i);
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("OTHER" + i)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(2_000);
+	}
+}
@@ -0,0 +1,69 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.AccountCycles;
+import com.ADI_Farmer.fin_data_service.model.AccountEdge;
+import com.ADI_Farmer.fin_data_service.model.AccountNeighborhood;
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AccountGraphTests {
+
+	@Test
+	void counterpartiesAndNeighborhood() {
+		AccountGraph graph = new AccountGraph();
+		List<Transaction> batch = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			batch.add(transfer("A", "B", 10));
+		}
+		batch.add(transfer("A", "C", 500));
+		batch.add(transfer("C", "D", 1));
+		batch.add(transfer("E", "A", 1));
+		batch.add(transfer("A", null, 1));
+		graph.add(batch);
+
+		assertThat(graph.edgeCount()).isEqualTo(4);
+		assertThat(graph.topCounterparties("A", 1, AccountGraph.Direction.OUT, false).orElseThrow())
+				.extracting(AccountEdge::getTo, AccountEdge::getTransactions)
+				.containsExactly(tuple("B", 3L));
+		assertThat(graph.topCounterparties("A", 5, AccountGraph.Direction.BOTH, true).orElseThrow())
+				.extracting(AccountEdge::getTotalAmount)
+				.containsExactly(500.0, 30.0, 1.0);
+		assertThat(graph.topCounterparties("Z", 5, AccountGraph.Direction.OUT, false)).isEmpty();
+
+		AccountNeighborhood out = graph.neighborhood("A", 2, 100, AccountGraph.Direction.OUT).orElseThrow();
+		assertThat(out.getAccounts()).containsOnlyKeys("A", "B", "C", "D").containsEntry("D", 2);
+		assertThat(out.getEdges()).hasSize(3);
+		assertThat(out.isTruncated()).isFalse();
+		assertThat(graph.neighborhood("A", 1, 2, AccountGraph.Direction.BOTH).orElseThrow().isTruncated()).isTrue();
+	}
+
+	@Test
+	void cyclesThroughAnAccount() {
+		AccountGraph graph = new AccountGraph();
+		graph.add(List.of(
+				transfer("A", "B", 1), transfer("B", "C", 1), transfer("C", "A", 1),
+				transfer("B", "A", 1), transfer("C", "D", 1), transfer("D", "E", 1), transfer("E", "A", 1)));
+
+		AccountCycles cycles = graph.cycles("A", 3, 100, 1_000).orElseThrow();
+		assertThat(cycles.getCycles()).containsExactlyInAnyOrder(List.of("A", "B", "A"), List.of("A", "B", "C", "A"));
+		assertThat(cycles.isTruncated()).isFalse();
+		assertThat(graph.cycles("A", 5, 100, 1_000).orElseThrow().getCycles())
+				.contains(List.of("A", "B", "C", "D", "E", "A"))
+				.hasSize(3);
+		assertThat(graph.cycles("A", 5, 1, 1_000).orElseThrow().isTruncated()).isTrue();
+	}
+
+	private static Transaction transfer(String from, String to, double amount) {
+		Transaction txn = new Transaction();
+		txn.setSenderAccountId(from);
+		txn.setReceiverAccountId(to);
+		txn.setAmount(amount);
+		return txn;
+	}
+}
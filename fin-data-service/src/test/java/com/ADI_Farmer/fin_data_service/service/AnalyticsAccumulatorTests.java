@@ -0,0 +1,55 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.AggregateBucket;
+import com.ADI_Farmer.fin_data_service.model.AnalyticsData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.ADI_Farmer.fin_data_service.service.TestTransactions.txn;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsAccumulatorTests {
+
+	@Test
+	void singlePassFillsEveryChart() {
+		AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+		accumulator.accept(txn("TRANSFER", "COMPLETED", "ATM", "2024-01-16T09:00:00", 100, true));
+		accumulator.accept(txn("PAYMENT", "FAILED", "Mobile App", "2024-01-15T10:30:00", 50, true));
+		accumulator.accept(txn("TRANSFER", "COMPLETED", "Mobile App", "2024-01-15T11:00:00", 25, false));
+
+		AnalyticsData byType = accumulator.amountByType();
+		assertThat(byType.getLabels()).containsExactly("PAYMENT", "TRANSFER");
+		assertThat(byType.getData()).containsExactly(50.0, 125.0);
+
+		AnalyticsData byStatus = accumulator.countByStatus();
+		assertThat(byStatus.getLabels()).containsExactly("COMPLETED", "FAILED");
+		assertThat(byStatus.getData()).containsExactly(2L, 1L);
+
+		AnalyticsData fraud = accumulator.fraudAnalysis();
+		assertThat(fraud.getData()).containsExactly(2L, 1L);
+
+		Map<String, Object> summary = accumulator.summary();
+		assertThat(summary).containsEntry("totalTransactions", 3L)
+				.containsEntry("totalAmount", 175.0)
+				.containsEntry("fraudCount", 2L)
+				.containsEntry("uniqueDevices", 2L)
+				.containsEntry("uniqueTypes", 2L);
+	}
+
+	@Test
+	void bucketsRoundTripThroughAnotherAccumulator() {
+		AnalyticsAccumulator deltas = new AnalyticsAccumulator();
+		deltas.accept(txn("TRANSFER", "COMPLETED", "ATM", "2024-01-15T10:30:00", 10, false));
+		deltas.accept(txn(null, "COMPLETED", "ATM", null, 5, false));
+
+		AnalyticsAccumulator restored = new AnalyticsAccumulator();
+		List<AggregateBucket> buckets = deltas.getBuckets();
+		buckets.forEach(restored::accept);
+
+		assertThat(restored.countByStatus().getData()).containsExactly(2L);
+		assertThat(restored.amountByType().getLabels()).containsExactly("TRANSFER", AggregateService.UNKNOWN);
+		assertThat(restored.summary()).isEqualTo(deltas.summary());
+	}
+}
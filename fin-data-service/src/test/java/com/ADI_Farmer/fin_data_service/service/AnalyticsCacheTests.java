@@ -0,0 +1,113 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.DataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalyticsCacheTests {
+
+	private final AtomicInteger version = new AtomicInteger();
+	private final AnalyticsCache cache = new AnalyticsCache();
+
+	@BeforeEach
+	void setUp() {
+		DataVersion dataVersion = new DataVersion() {
+			@Override
+			public long current() {
+				return version.get();
+			}
+		};
+		ReflectionTestUtils.setField(cache, "dataVersion", dataVersion);
+	}
+
+	@Test
+	void reusesValueUntilDataVersionChanges() {
+		AtomicInteger loads = new AtomicInteger();
+
+		assertThat(cache.get("amount|all", Duration.ofMinutes(1), loads::incrementAndGet)).isEqualTo(1);
+		assertThat(cache.get("amount|all", Duration.ofMinutes(1), loads::incrementAndGet)).isEqualTo(1);
+
+		version.incrementAndGet();
+		assertThat(cache.get("amount|all", Duration.ofMinutes(1), loads::incrementAndGet)).isEqualTo(2);
+	}
+
+	@Test
+	void expiredEntriesAreRecomputed() {
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get("status|24h", Duration.ZERO, loads::incrementAndGet);
+		cache.get("status|24h", Duration.ZERO, loads::incrementAndGet);
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void failedLoadIsNotCached() {
+		assertThatThrownBy(() -> cache.get("qos|1h", Duration.ofMinutes(1), () -> {
+			throw new LinkageError("boom");
+		})).isInstanceOf(LinkageError.class);
+
+		assertThat(cache.get("qos|1h", Duration.ofMinutes(1), () -> 1)).isEqualTo(1);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void missesDropStaleEntries() {
+		for (int i = 0; i < 10; i++) {
+			cache.get("source-" + i + "|all", Duration.ofMinutes(1), () -> 1);
+		}
+		assertThat(cache.size()).isEqualTo(10);
+
+		version.incrementAndGet();
+		cache.get("amount|all", Duration.ofMinutes(1), () -> 1);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentMissesShareOneComputation() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(pool.submit(() -> cache.get("fraud|all", Duration.ofMinutes(1), () -> {
+					loads.incrementAndGet();
+					await(release);
+					return 42;
+				})));
+			}
+			Thread.sleep(100);
+			release.countDown();
+
+			for (Future<Integer> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+			}
+			assertThat(loads).hasValue(1);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHitterWindowTests {
+
+	private static final long MINUTE = 60_000;
+
+	@Test
+	void findsHeavyKeysAmongManyRareOnes() {
+		HeavyHitterWindow window = new HeavyHitterWindow(0, 1, 50, 4, 1024);
+		int rows = 20_000;
+		long[] times = new long[rows];
+		String[] keys = new String[rows];
+		double[] amounts = new double[rows];
+		for (int i = 0; i < rows; i++) {
+			keys[i] = i % 10 == 0 ? "heavy-" + (i / 10) % 3 : "rare-" + i;
+			amounts[i] = 1;
+		}
+		window.add(times, keys, amounts, rows);
+
+		HeavyHitterWindow.Top top = window.top(Long.MIN_VALUE, 3);
+		assertThat(top.getEntries()).extracting(HeavyHitterWindow.Entry::getKey)
+				.containsExactlyInAnyOrder("heavy-0", "heavy-1", "heavy-2");
+		for (HeavyHitterWindow.Entry entry : top.getEntries()) {
+			assertThat(entry.getEstimate()).isBetween(666L, 667L + top.getErrorBound());
+			assertThat(entry.getMinimum()).isLessThanOrEqualTo(entry.getEstimate());
+		}
+		assertThat(top.getTotal()).isEqualTo(rows);
+	}
+
+	@Test
+	void panesTumbleAndWindowsMergeThem() {
+		HeavyHitterWindow window = new HeavyHitterWindow(5 * MINUTE, 3, 10, 4, 256);
+		long[] times = {0, MINUTE, 5 * MINUTE, 10 * MINUTE, 10 * MINUTE, 15 * MINUTE, 2 * MINUTE};
+		String[] keys = {"a", "a", "b", "b", "c", "c", "a"};
+		double[] amounts = new double[keys.length];
+		Arrays.fill(amounts, 10);
+		window.add(times, keys, amounts, keys.length);
+
+		// The 15-minute row reused the first pane, and the late row for it was dropped; ties go by key
+		assertThat(window.top(0, 5).getEntries()).extracting(HeavyHitterWindow.Entry::getKey)
+				.containsExactly("b", "c");
+		HeavyHitterWindow.Top latest = window.top(12 * MINUTE, 5);
+		assertThat(latest.getTotal()).isEqualTo(3);
+		assertThat(latest.getEntries()).extracting(HeavyHitterWindow.Entry::getKey).containsExactly("c", "b");
+		assertThat(latest.getEntries().get(0).getAmount()).isEqualTo(20);
+	}
+}
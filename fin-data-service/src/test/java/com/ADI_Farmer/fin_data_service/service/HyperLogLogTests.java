@@ -0,0 +1,41 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTests {
+
+	@Test
+	void estimatesStayWithinTheStandardError() {
+		HyperLogLog sketch = new HyperLogLog(14);
+		for (int i = 0; i < 200_000; i++) {
+			sketch.offer("ACC" + i);
+			sketch.offer("ACC" + (i / 2)); // repeats do not count
+		}
+
+		assertThat((double) sketch.estimate()).isCloseTo(200_000, within(200_000 * 3 * sketch.standardError()));
+
+		HyperLogLog small = new HyperLogLog(14);
+		for (int i = 0; i < 100; i++) {
+			small.offer(10_000 + i);
+		}
+		assertThat(small.estimate()).isEqualTo(100);
+	}
+
+	@Test
+	void mergeEstimatesTheUnion() {
+		HyperLogLog monday = new HyperLogLog(12);
+		HyperLogLog tuesday = new HyperLogLog(12);
+		for (int i = 0; i < 30_000; i++) {
+			monday.offer("ACC" + i);
+			tuesday.offer("ACC" + (i + 20_000));
+		}
+
+		HyperLogLog week = HyperLogLog.fromRegisters(12, monday.toBytes());
+		week.merge(tuesday);
+
+		assertThat((double) week.estimate()).isCloseTo(50_000, within(50_000 * 3 * week.standardError()));
+	}
+}
@@ -0,0 +1,108 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.ingestion.IngestionPipeline;
+import com.ADI_Farmer.fin_data_service.ingestion.TransactionSource;
+import com.ADI_Farmer.fin_data_service.model.IngestJob;
+import com.ADI_Farmer.fin_data_service.model.IngestReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestJobServiceTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final IngestJobService service = new IngestJobService(1, 1);
+
+	@BeforeEach
+	void setUp() {
+		IngestionPipeline pipeline = new IngestionPipeline(1, 1) {
+			@Override
+			public IngestReport run(TransactionSource source, IngestReport report) {
+				started.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				report.accept(10);
+				return report.finish();
+			}
+		};
+		ReflectionTestUtils.setField(service, "pipeline", pipeline);
+		ReflectionTestUtils.setField(service, "retained", 100);
+		service.startAccepting();
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void rejectsJobsBeyondQueueAndCancelsQueuedOnes() throws Exception {
+		AtomicInteger cleanups = new AtomicInteger();
+
+		IngestJob running = service.submit("a.csv", () -> null, cleanups::incrementAndGet);
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		IngestJob queued = service.submit("b.csv", () -> null, cleanups::incrementAndGet);
+
+		assertThatThrownBy(() -> service.submit("c.csv", () -> null, cleanups::incrementAndGet))
+				.isInstanceOf(RejectedExecutionException.class);
+		assertThat(cleanups).hasValue(1);
+
+		Thread.sleep(20);
+		assertThat(queued.getReport().getElapsedMillis()).isZero(); // queue time is not run time
+
+		assertThat(service.cancel(queued.getId())).isPresent();
+		assertThat(queued.getState()).isEqualTo(IngestJob.State.CANCELLED);
+		assertThat(queued.getReport().getElapsedMillis()).isZero();
+
+		release.countDown();
+		awaitFinished(running);
+		assertThat(running.getState()).isEqualTo(IngestJob.State.COMPLETED);
+		assertThat(running.getReport().getRowsAccepted()).isEqualTo(10);
+	}
+
+	@Test
+	void rejectsJobsUntilStartupCompletes() {
+		IngestJobService starting = new IngestJobService(1, 1);
+		AtomicInteger cleanups = new AtomicInteger();
+		try {
+			assertThatThrownBy(() -> starting.submit("a.csv", () -> null, cleanups::incrementAndGet))
+					.isInstanceOf(StoreUnavailableException.class);
+			assertThat(cleanups).hasValue(1);
+			assertThat(starting.getJobs()).isEmpty();
+		} finally {
+			starting.shutdown();
+		}
+	}
+
+	@Test
+	void reportsFailureToOpenSource() throws Exception {
+		IngestJob job = service.submit("missing.json", () -> {
+			throw new IOException("File not found: missing.json");
+		}, () -> { });
+
+		awaitFinished(job);
+		assertThat(job.getState()).isEqualTo(IngestJob.State.FAILED);
+		assertThat(job.getError()).contains("File not found");
+	}
+
+	private static void awaitFinished(IngestJob job) throws InterruptedException {
+		for (int i = 0; i < 500 && !job.isFinished(); i++) {
+			Thread.sleep(10);
+		}
+		assertThat(job.isFinished()).isTrue();
+	}
+}
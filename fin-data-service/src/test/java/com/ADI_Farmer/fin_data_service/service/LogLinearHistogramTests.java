@@ -0,0 +1,39 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LogLinearHistogramTests {
+
+	@Test
+	void bucketsBoundTheRelativeError() {
+		for (long value = 0; value <= LogLinearHistogram.MAX_VALUE; value += 1 + value / 100) {
+			long highest = LogLinearHistogram.highestValueOf(LogLinearHistogram.bucketOf(value));
+			assertThat(highest).isGreaterThanOrEqualTo(value);
+			assertThat((double) highest - value).isLessThanOrEqualTo(value / 64.0);
+		}
+		assertThat(LogLinearHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(LogLinearHistogram.BUCKETS - 1);
+		assertThat(LogLinearHistogram.bucketOf(-5)).isZero();
+	}
+
+	@Test
+	void percentilesOfMergedCounts() {
+		LogLinearHistogram first = new LogLinearHistogram();
+		LogLinearHistogram merged = new LogLinearHistogram();
+		for (int latency = 1; latency <= 5_000; latency++) {
+			first.record(latency);
+			merged.record(latency);
+		}
+		merged.addAll(Map.of(String.valueOf(LogLinearHistogram.bucketOf(20_000)), 5_000L));
+
+		assertThat((double) first.valueAt(0.5)).isCloseTo(2_500, within(2_500 / 64.0));
+		assertThat((double) first.valueAt(0.99)).isCloseTo(4_950, within(4_950 / 64.0));
+		assertThat(merged.getTotalCount()).isEqualTo(10_000);
+		assertThat((double) merged.valueAt(0.95)).isCloseTo(20_000, within(20_000 / 64.0));
+		assertThat(new LogLinearHistogram().valueAt(0.5)).isZero();
+	}
+}
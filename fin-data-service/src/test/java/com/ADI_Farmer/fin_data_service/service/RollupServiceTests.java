@@ -0,0 +1,54 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.RollupResolution;
+import com.ADI_Farmer.fin_data_service.model.TrendRollup;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupServiceTests {
+
+	@Test
+	void forWindowPicksTheFinestResolutionThatFits() {
+		assertThat(RollupResolution.forWindow(Duration.ofHours(1), 120)).isEqualTo(RollupResolution.MINUTE);
+		assertThat(RollupResolution.forWindow(Duration.ofHours(2), 120)).isEqualTo(RollupResolution.MINUTE);
+		assertThat(RollupResolution.forWindow(Duration.ofDays(1), 120)).isEqualTo(RollupResolution.HOUR);
+		assertThat(RollupResolution.forWindow(Duration.ofDays(7), 120)).isEqualTo(RollupResolution.DAY);
+		assertThat(RollupResolution.forWindow(Duration.ofDays(1), 10)).isEqualTo(RollupResolution.DAY);
+		assertThat(RollupResolution.forWindow(null, 120)).isEqualTo(RollupResolution.DAY);
+	}
+
+	@Test
+	void longSpansAreMergedToFitMaxPoints() {
+		Instant first = Instant.parse("2024-01-01T00:00:00Z");
+		List<TrendRollup> days = new ArrayList<>();
+		for (int day = 0; day < 365; day++) {
+			if (day % 7 == 3) {
+				continue; // sparse, as days without transactions have no bucket
+			}
+			TrendRollup rollup = new TrendRollup(RollupResolution.DAY, first.plus(Duration.ofDays(day)));
+			rollup.add(day, day % 2 == 0);
+			days.add(rollup);
+		}
+
+		long bucketsPerPoint = RollupService.bucketsPerPoint(days, RollupResolution.DAY, 120);
+		assertThat(bucketsPerPoint).isEqualTo(4);
+		List<TrendRollup> points = RollupService.coarsen(days, RollupResolution.DAY, bucketsPerPoint);
+
+		assertThat(points).hasSizeLessThanOrEqualTo(120);
+		assertThat(points.get(1).getBucketStart()).isEqualTo(first.plus(Duration.ofDays(4)));
+		assertThat(points.get(0).getCount()).isEqualTo(3); // day 3 is missing
+		assertThat(points.get(0).getSum()).isEqualTo(0 + 1 + 2);
+		assertThat(points.get(0).getMax()).isEqualTo(2);
+		assertThat(points.stream().mapToLong(TrendRollup::getCount).sum()).isEqualTo(days.size());
+		assertThat(points.stream().mapToLong(TrendRollup::getFraudCount).sum())
+				.isEqualTo(days.stream().mapToLong(TrendRollup::getFraudCount).sum());
+
+		assertThat(RollupService.bucketsPerPoint(days.subList(0, 100), RollupResolution.DAY, 120)).isEqualTo(1);
+	}
+}
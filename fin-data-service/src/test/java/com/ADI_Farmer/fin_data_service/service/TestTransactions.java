@@ -0,0 +1,22 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+
+/** Transaction fixtures shared by the analytics tests. */
+final class TestTransactions {
+
+	private TestTransactions() {
+	}
+
+	static Transaction txn(String type, String status, String device, String timestamp,
+			double amount, boolean fraud) {
+		Transaction txn = new Transaction();
+		txn.setType(type);
+		txn.setStatus(status);
+		txn.setDeviceUsed(device);
+		txn.setTimestamp(timestamp);
+		txn.setAmount(amount);
+		txn.setFraudFlag(fraud);
+		return txn;
+	}
+}
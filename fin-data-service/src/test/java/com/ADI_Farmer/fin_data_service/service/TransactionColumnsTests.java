@@ -0,0 +1,53 @@
+package com.ADI_Farmer.fin_data_service.service;
+
+import com.ADI_Farmer.fin_data_service.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ADI_Farmer.fin_data_service.service.TestTransactions.txn;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionColumnsTests {
+
+	private static final Instant NOW = Instant.parse("2024-01-16T12:00:00Z");
+
+	@Test
+	void matchesRowByRowAccumulation() {
+		List<Transaction> batch = List.of(
+				txn("TRANSFER", "COMPLETED", "atm", "2024-01-16T09:00:00", 100, true),
+				txn("PAYMENT", "FAILED", "Mobile App", "2024-01-15T10:30:00", 50, true),
+				txn(null, "COMPLETED", null, null, 25, false));
+
+		TransactionColumns columns = new TransactionColumns();
+		columns.append(batch);
+		AnalyticsAccumulator expected = new AnalyticsAccumulator();
+		batch.forEach(expected::accept);
+
+		AnalyticsAccumulator actual = columns.aggregate(null);
+		assertThat(actual.summary()).isEqualTo(expected.summary());
+		assertThat(actual.charts()).usingRecursiveComparison().ignoringFields("timestamp")
+				.isEqualTo(expected.charts());
+	}
+
+	@Test
+	void restrictsToWindowAndGrowsPastInitialCapacity() {
+		List<Transaction> batch = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			batch.add(txn("PAYMENT", "COMPLETED", "ATM", "2024-01-16T00:00:00", 1, false));
+		}
+		Transaction recent = txn("TRANSFER", "COMPLETED", "ATM", "2024-01-16T11:30:00", 7, false);
+		recent.setEventTime(NOW.minusSeconds(1800));
+		batch.add(recent);
+
+		TransactionColumns columns = new TransactionColumns();
+		columns.append(batch);
+
+		assertThat(columns.size()).isEqualTo(3001);
+		assertThat(columns.aggregate(NOW.minusSeconds(3600)).summary())
+				.containsEntry("totalTransactions", 1L)
+				.containsEntry("totalAmount", 7.0);
+	}
+}